@@ -0,0 +1,64 @@
+package az.ailab.lib.common.security.permission;
+
+import az.ailab.lib.common.error.ServiceException;
+import az.ailab.lib.common.security.context.UserContext;
+import az.ailab.lib.common.security.context.UserContextScope;
+import az.ailab.lib.common.security.model.enums.PermissionEnum;
+import az.ailab.lib.common.security.model.enums.PermissionLevel;
+import az.ailab.lib.common.security.model.vo.PermissionMatrix;
+import az.ailab.lib.common.security.permission.vo.EntityContext;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of a denied permission check, thrown by {@link PermissionChecker#check(PermissionEnum)} versus reported by
+ * {@link PermissionChecker#tryCheck(PermissionEnum)}.
+ * <p>The user holds {@code ORDER_READ} at {@code PERSONAL} level and the entity belongs to someone else, so every
+ * call is denied as {@link PermissionChecker.Decision#OUT_OF_SCOPE}. Run with {@code ./gradlew jmh}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermissionCheckerDenyBenchmark {
+
+    private final UserContext user = UserContext.builder()
+            .authenticated(true)
+            .permissionMatrix(PermissionMatrix.of(Map.of(PermissionEnum.ORDER_READ, PermissionLevel.PERSONAL)))
+            .userId(1L)
+            .directorateId(2L)
+            .institutionId(3)
+            .structurePath("3/2")
+            .build();
+
+    private final PermissionChecker checker = new PermissionChecker(new EntityContext(2L, "3/2", 2L, 3, false));
+
+    @Benchmark
+    public void checkThrows(final Blackhole blackhole) {
+        UserContextScope.runWhere(user, () -> {
+            try {
+                checker.check(PermissionEnum.ORDER_READ);
+            } catch (ServiceException ex) {
+                blackhole.consume(ex);
+            }
+        });
+    }
+
+    @Benchmark
+    public void tryCheck(final Blackhole blackhole) {
+        UserContextScope.runWhere(user, () -> blackhole.consume(checker.tryCheck(PermissionEnum.ORDER_READ)));
+    }
+
+}
@@ -0,0 +1,109 @@
+package az.ailab.lib.common.security.authority;
+
+import az.ailab.lib.common.security.constants.SecurityConstant;
+import az.ailab.lib.common.security.model.enums.PermissionEnum;
+import az.ailab.lib.common.security.model.enums.RoleType;
+import az.ailab.lib.common.security.model.enums.UserType;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Registry of shared, immutable {@link GrantedAuthority} instances.
+ * <p>
+ * Authorities for every {@link RoleType}, {@link UserType} (prefixed with {@link SecurityConstant#ROLE_PREFIX})
+ * and {@link PermissionEnum} are created once when the class is loaded, so mapping token claims to
+ * authorities is a map lookup instead of a string concatenation and a new {@link SimpleGrantedAuthority}.
+ * Values not known at startup are interned in a bounded fallback table; once it is full, new values
+ * are still served but no longer retained.</p>
+ *
+ * @since 1.2
+ */
+public final class AuthorityRegistry {
+
+    /**
+     * Upper bound for the number of interned authorities not backed by an enum constant.
+     */
+    static final int MAX_FALLBACK_SIZE = 1_024;
+
+    private static final Map<String, GrantedAuthority> ROLE_AUTHORITIES;
+    private static final Map<String, GrantedAuthority> PERMISSION_AUTHORITIES;
+    private static final Map<String, GrantedAuthority> FALLBACK_ROLES = new ConcurrentHashMap<>();
+    private static final Map<String, GrantedAuthority> FALLBACK_PERMISSIONS = new ConcurrentHashMap<>();
+
+    static {
+        final Map<String, GrantedAuthority> roles = new HashMap<>();
+        for (RoleType roleType : RoleType.values()) {
+            roles.put(roleType.name(), new SimpleGrantedAuthority(SecurityConstant.ROLE_PREFIX + roleType.name()));
+        }
+        for (UserType userType : UserType.values()) {
+            roles.put(userType.name(), new SimpleGrantedAuthority(SecurityConstant.ROLE_PREFIX + userType.name()));
+        }
+        ROLE_AUTHORITIES = Map.copyOf(roles);
+
+        final Map<String, GrantedAuthority> permissions = new HashMap<>();
+        for (PermissionEnum permission : PermissionEnum.values()) {
+            permissions.put(permission.name(), new SimpleGrantedAuthority(permission.name()));
+        }
+        PERMISSION_AUTHORITIES = Map.copyOf(permissions);
+    }
+
+    private AuthorityRegistry() {
+
+    }
+
+    /**
+     * Returns the role authority ({@code ROLE_<name>}) for a role or user type name.
+     *
+     * @param name the role or user type name without prefix, may be {@code null}
+     * @return the shared {@link GrantedAuthority}
+     */
+    public static GrantedAuthority role(final String name) {
+        final String key = String.valueOf(name);
+        final GrantedAuthority authority = ROLE_AUTHORITIES.get(key);
+        if (authority != null) {
+            return authority;
+        }
+        return intern(FALLBACK_ROLES, key, SecurityConstant.ROLE_PREFIX + key);
+    }
+
+    /**
+     * Returns the authority for a permission name.
+     *
+     * @param name the permission name, as found in the token
+     * @return the shared {@link GrantedAuthority}
+     */
+    public static GrantedAuthority permission(final String name) {
+        final String key = String.valueOf(name);
+        final GrantedAuthority authority = PERMISSION_AUTHORITIES.get(key);
+        if (authority != null) {
+            return authority;
+        }
+        return intern(FALLBACK_PERMISSIONS, key, key);
+    }
+
+    /**
+     * Returns the authority for a permission constant.
+     *
+     * @param permission the permission
+     * @return the shared {@link GrantedAuthority}
+     */
+    public static GrantedAuthority permission(final PermissionEnum permission) {
+        return PERMISSION_AUTHORITIES.get(permission.name());
+    }
+
+    private static GrantedAuthority intern(final Map<String, GrantedAuthority> table, final String key,
+                                           final String authority) {
+        final GrantedAuthority interned = table.get(key);
+        if (interned != null) {
+            return interned;
+        }
+        if (table.size() >= MAX_FALLBACK_SIZE) {
+            return new SimpleGrantedAuthority(authority);
+        }
+        return table.computeIfAbsent(key, ignored -> new SimpleGrantedAuthority(authority));
+    }
+
+}
@@ -0,0 +1,196 @@
+package az.ailab.lib.common.security.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Bounded, concurrent cache of fully built {@link Authentication} objects keyed by a token fingerprint.
+ * <p>
+ * A browser session replays the same bearer token on every request, so decoding the payload,
+ * parsing the JSON and building the principal only has to happen once per token. Entries are
+ * keyed by the SHA-256 digest of the whole compact token (never by a single segment, which could
+ * be forged independently of the payload) and expire at the token's {@code exp} claim.</p>
+ * <p>
+ * When the cache is full, expired entries are purged (at most once per {@link #PURGE_INTERVAL_MILLIS})
+ * and, if still full, an arbitrary entry is evicted to make room for the new one.</p>
+ *
+ * @author tahmazovfarid
+ * @since 1.2
+ */
+public class AuthenticationCache {
+
+    /**
+     * Default upper bound for the number of cached authentications.
+     */
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+
+    private static final long PURGE_INTERVAL_MILLIS = 1_000L;
+    private static final String FINGERPRINT_ALGORITHM = "SHA-256";
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(AuthenticationCache::newDigest);
+
+    private final int maxSize;
+    private final Clock clock;
+    private final Map<ByteBuffer, CachedAuthentication> entries = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurge = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public AuthenticationCache() {
+        this(DEFAULT_MAX_SIZE, Clock.systemUTC());
+    }
+
+    public AuthenticationCache(final int maxSize) {
+        this(maxSize, Clock.systemUTC());
+    }
+
+    public AuthenticationCache(final int maxSize, final Clock clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache max size must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Looks up a previously cached authentication for the given token.
+     * <p>Entries whose expiration time has passed are removed and reported as a miss.</p>
+     *
+     * @param token the compact JWT string
+     * @return the cached {@link Authentication}, or {@link Optional#empty()} on a miss
+     */
+    public Optional<Authentication> get(final String token) {
+        final ByteBuffer key = fingerprint(token);
+        final CachedAuthentication cached = entries.get(key);
+
+        if (cached == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (cached.isExpired(clock.millis())) {
+            if (entries.remove(key, cached)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(cached.authentication());
+    }
+
+    /**
+     * Stores an authentication until the given expiration time.
+     * <p>Tokens without an expiration claim or already expired are never cached.</p>
+     *
+     * @param token                 the compact JWT string
+     * @param authentication        the authentication built from the token
+     * @param expiresAtEpochSeconds the token's {@code exp} claim in epoch seconds, may be {@code null}
+     */
+    public void put(final String token, final Authentication authentication, final Long expiresAtEpochSeconds) {
+        if (authentication == null || expiresAtEpochSeconds == null) {
+            return;
+        }
+        final long now = clock.millis();
+        final long expiresAt = expiresAtEpochSeconds * 1000L;
+        if (expiresAt <= now) {
+            return;
+        }
+
+        if (entries.size() >= maxSize) {
+            makeRoom(now);
+        }
+        entries.put(fingerprint(token), new CachedAuthentication(authentication, expiresAt));
+    }
+
+    /**
+     * Removes all cached authentications.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of entries currently held, including not yet purged expired ones.
+     *
+     * @return the current cache size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns a point-in-time snapshot of the cache counters.
+     *
+     * @return the current {@link Stats}
+     */
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    private void makeRoom(final long now) {
+        final long previousPurge = lastPurge.get();
+        if (now - previousPurge >= PURGE_INTERVAL_MILLIS && lastPurge.compareAndSet(previousPurge, now)) {
+            entries.entrySet().removeIf(entry -> {
+                final boolean expired = entry.getValue().isExpired(now);
+                if (expired) {
+                    evictions.increment();
+                }
+                return expired;
+            });
+        }
+
+        final Iterator<ByteBuffer> iterator = entries.keySet().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private static ByteBuffer fingerprint(final String token) {
+        final MessageDigest digest = DIGEST.get();
+        digest.reset();
+        return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Token fingerprint algorithm is not available: " + FINGERPRINT_ALGORITHM, ex);
+        }
+    }
+
+    private record CachedAuthentication(Authentication authentication, long expiresAtMillis) {
+
+        boolean isExpired(final long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     *
+     * @param hits      number of lookups served from the cache
+     * @param misses    number of lookups that had to build the authentication
+     * @param evictions number of entries removed because they expired or the cache was full
+     * @param size      number of entries held when the snapshot was taken
+     */
+    public record Stats(long hits, long misses, long evictions, int size) {
+
+    }
+
+}
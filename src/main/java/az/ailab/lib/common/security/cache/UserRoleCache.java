@@ -0,0 +1,115 @@
+package az.ailab.lib.common.security.cache;
+
+import az.ailab.lib.common.security.model.TokenPayload;
+import az.ailab.lib.common.security.model.UserPrincipal;
+import az.ailab.lib.common.security.model.vo.UserRole;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Canonicalising cache of {@link UserRole} and authority lists shared by users with identical roles.
+ * <p>
+ * Most users hold one of a handful of roles, so resolving the permission map into enums and
+ * building the authority list per request repeats the same work and retains identical copies in
+ * every cached principal. Entries are keyed by role id, name and type, user type and the content of
+ * the permission map; all users with the same key share one immutable {@link UserRole} and one
+ * immutable authority list.</p>
+ * <p>
+ * Lookups reuse the payload's own permission map as part of the key, so a hit allocates only the key
+ * record; the map is copied when a new entry is stored. Once {@code maxSize} distinct roles are held,
+ * new ones are resolved without being retained.</p>
+ *
+ * @since 1.2
+ */
+public class UserRoleCache {
+
+    /**
+     * Default upper bound for the number of distinct roles held.
+     */
+    public static final int DEFAULT_MAX_SIZE = 1_024;
+
+    private final int maxSize;
+    private final Map<RoleKey, CanonicalRole> entries = new ConcurrentHashMap<>();
+
+    public UserRoleCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public UserRoleCache(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache max size must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the shared role and authorities for the role described by the payload.
+     *
+     * @param payload         the token payload
+     * @param authorityMapper builds the authority list on a miss
+     * @return the canonical {@link CanonicalRole}
+     * @throws IllegalArgumentException if the role type or a permission in the payload is invalid
+     */
+    public CanonicalRole resolve(final TokenPayload payload,
+                                 final Function<TokenPayload, List<GrantedAuthority>> authorityMapper) {
+        final Map<String, String> permissions = payload.getPermissions();
+        final RoleKey lookupKey = new RoleKey(payload.getRoleId(), payload.getRoleName(), payload.getRoleType(),
+                payload.getUserType(), permissions);
+        final CanonicalRole cached = entries.get(lookupKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        final UserRole resolved = UserPrincipal.resolveUserRole(payload);
+        final CanonicalRole canonical = new CanonicalRole(
+                new UserRole(resolved.id(), resolved.name(), resolved.type(), Collections.unmodifiableMap(resolved.permissions())),
+                List.copyOf(authorityMapper.apply(payload)));
+        if (entries.size() >= maxSize) {
+            return canonical;
+        }
+
+        final RoleKey storedKey = new RoleKey(lookupKey.roleId(), lookupKey.roleName(), lookupKey.roleType(),
+                lookupKey.userType(), permissions == null ? null : Map.copyOf(permissions));
+        final CanonicalRole existing = entries.putIfAbsent(storedKey, canonical);
+        return existing != null ? existing : canonical;
+    }
+
+    /**
+     * Removes all cached roles.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of distinct roles currently held.
+     *
+     * @return the current cache size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private record RoleKey(Long roleId,
+                           String roleName,
+                           String roleType,
+                           String userType,
+                           Map<String, String> permissions) {
+
+    }
+
+    /**
+     * A shared, immutable role with its authorities.
+     *
+     * @param role        the resolved {@link UserRole}
+     * @param authorities the granted authorities for the role and user type
+     */
+    public record CanonicalRole(UserRole role, List<GrantedAuthority> authorities) {
+
+    }
+
+}
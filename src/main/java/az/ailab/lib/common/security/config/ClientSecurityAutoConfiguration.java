@@ -2,9 +2,11 @@ package az.ailab.lib.common.security.config;
 
 import az.ailab.lib.common.security.config.properties.ClientSecurityProperties;
 import az.ailab.lib.common.security.interceptor.ClientAuthInterceptor;
+import az.ailab.lib.common.security.provider.ServiceTokenProvider;
 import feign.RequestInterceptor;
 import java.util.Collections;
 import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -20,14 +22,29 @@ import org.springframework.context.annotation.Configuration;
 public class ClientSecurityAutoConfiguration {
 
     @Bean
-    @ConditionalOnMissingBean
-    public RequestInterceptor serviceAuthInterceptor(
+    @ConditionalOnMissingBean(RequestInterceptor.class)
+    public ClientAuthInterceptor serviceAuthInterceptor(
             @Value("${spring.application.name}") String srcServiceName,
-            ClientSecurityProperties properties) {
+            ClientSecurityProperties properties,
+            ObjectProvider<ServiceTokenProvider> serviceTokenProvider) {
         Map<String, String> clientApiKeys = properties.getApiKeys() != null ?
-                properties.getApiKeys() : Collections.emptyMap();
+                Map.copyOf(properties.getApiKeys()) : Collections.emptyMap();
+
+        return new ClientAuthInterceptor(srcServiceName, clientApiKeys, serviceTokenProvider.getIfAvailable(),
+                properties.getServiceToken().getClients());
+    }
 
-        return new ClientAuthInterceptor(srcServiceName, clientApiKeys);
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "clients.security.service-token", name = "secret")
+    public ServiceTokenProvider serviceTokenProvider(
+            @Value("${spring.application.name}") String srcServiceName,
+            ClientSecurityProperties properties) {
+        ClientSecurityProperties.ServiceTokenProperties serviceToken = properties.getServiceToken();
+        ServiceTokenProvider provider = new ServiceTokenProvider(srcServiceName, serviceToken.getKeyId(),
+                serviceToken.getSecret(), serviceToken.getTtl(), serviceToken.getRefreshAhead());
+        provider.warmUp(serviceToken.getClients());
+        return provider;
     }
 
 }
@@ -0,0 +1,27 @@
+package az.ailab.lib.common.security.config;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Registers the {@link SecurityPropertiesRefresher} shared by client and user security.
+ * <p>Imported by both {@code @Enable*Security} annotations; Spring processes an imported configuration class
+ * once, so the refresher is defined a single time whichever annotations are present.</p>
+ *
+ * @since 1.2
+ */
+@Configuration
+@ConditionalOnClass(name = "org.springframework.cloud.context.environment.EnvironmentChangeEvent")
+public class SecurityPropertiesRefreshConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SecurityPropertiesRefresher securityPropertiesRefresher(final Environment environment, final BeanFactory beanFactory) {
+        return new SecurityPropertiesRefresher(environment, beanFactory);
+    }
+
+}
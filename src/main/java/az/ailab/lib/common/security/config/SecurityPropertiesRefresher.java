@@ -0,0 +1,100 @@
+package az.ailab.lib.common.security.config;
+
+import az.ailab.lib.common.security.cache.AuthenticationCache;
+import az.ailab.lib.common.security.config.properties.ClientSecurityProperties;
+import az.ailab.lib.common.security.config.properties.UserSecurityProperties;
+import az.ailab.lib.common.security.interceptor.ClientAuthInterceptor;
+import az.ailab.lib.common.security.provider.ServiceTokenProvider;
+import az.ailab.lib.common.security.verifier.ApiKeyVerifier;
+import az.ailab.lib.common.security.verifier.JwtVerifier;
+import az.ailab.lib.common.security.verifier.TokenVerifier;
+import java.util.Collections;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Applies changed security keys without a restart when the environment is refreshed.
+ * <p>
+ * On every {@link EnvironmentChangeEvent} (published by Spring Cloud's {@code /actuator/refresh}, the config
+ * server bus or the Kubernetes config watcher) the {@code clients.security} and {@code users.security} properties
+ * are bound again and handed to the components that hold parsed keys. Each component prepares its new state
+ * first and publishes it with a single volatile write, so request threads never lock. Components whose
+ * values did not change keep their state, and a change of the verification secrets clears the
+ * {@link AuthenticationCache}, so tokens signed with a retired secret are no longer served from it.</p>
+ * <p>Invalid new values are logged and the previous keys stay active.</p>
+ *
+ * @since 1.2
+ */
+@Slf4j
+public class SecurityPropertiesRefresher implements ApplicationListener<EnvironmentChangeEvent> {
+
+    private final Environment environment;
+    private final ObjectProvider<ClientAuthInterceptor> clientAuthInterceptor;
+    private final ObjectProvider<ServiceTokenProvider> serviceTokenProvider;
+    private final ObjectProvider<ApiKeyVerifier> apiKeyVerifier;
+    private final ObjectProvider<TokenVerifier> tokenVerifier;
+    private final ObjectProvider<AuthenticationCache> authenticationCache;
+
+    public SecurityPropertiesRefresher(final Environment environment, final BeanFactory beanFactory) {
+        this.environment = environment;
+        this.clientAuthInterceptor = beanFactory.getBeanProvider(ClientAuthInterceptor.class);
+        this.serviceTokenProvider = beanFactory.getBeanProvider(ServiceTokenProvider.class);
+        this.apiKeyVerifier = beanFactory.getBeanProvider(ApiKeyVerifier.class);
+        this.tokenVerifier = beanFactory.getBeanProvider(TokenVerifier.class);
+        this.authenticationCache = beanFactory.getBeanProvider(AuthenticationCache.class);
+    }
+
+    @Override
+    public void onApplicationEvent(final EnvironmentChangeEvent event) {
+        final Binder binder = Binder.get(environment);
+        refreshClientSecurity(binder.bind("clients.security", ClientSecurityProperties.class)
+                .orElseGet(ClientSecurityProperties::new));
+        refreshUserSecurity(binder.bind("users.security", UserSecurityProperties.class)
+                .orElseGet(UserSecurityProperties::new));
+    }
+
+    void refreshClientSecurity(final ClientSecurityProperties properties) {
+        final ClientSecurityProperties.ServiceTokenProperties serviceToken = properties.getServiceToken();
+        serviceTokenProvider.ifAvailable(provider -> apply("service token signing key", () -> {
+            if (serviceToken.getSecret() != null && provider.updateSigningKey(serviceToken.getKeyId(), serviceToken.getSecret())) {
+                log.info("Service token signing key changed to key id '{}'", serviceToken.getKeyId());
+            }
+        }));
+        // newly listed clients get their tokens here, before the interceptor starts requesting them
+        serviceTokenProvider.ifAvailable(provider -> apply("service token clients", () -> {
+            provider.retainOnly(serviceToken.getClients());
+            provider.warmUp(serviceToken.getClients());
+        }));
+        final Map<String, String> clientApiKeys = properties.getApiKeys() != null ? properties.getApiKeys() : Collections.emptyMap();
+        clientAuthInterceptor.ifAvailable(interceptor -> apply("client API keys",
+                () -> interceptor.update(clientApiKeys, serviceToken.getClients())));
+    }
+
+    void refreshUserSecurity(final UserSecurityProperties properties) {
+        apiKeyVerifier.ifAvailable(verifier -> apply("service API keys",
+                () -> verifier.update(properties.getServiceAuthentication().getApiKeys())));
+        if (tokenVerifier.getIfAvailable() instanceof JwtVerifier jwtVerifier) {
+            apply("verification keys", () -> {
+                if (jwtVerifier.update(properties.getVerification().getKeys())) {
+                    authenticationCache.ifAvailable(AuthenticationCache::clear);
+                    log.info("Verification keys changed to key ids {}", properties.getVerification().getKeys().keySet());
+                }
+            });
+        }
+    }
+
+    private void apply(final String name, final Runnable update) {
+        try {
+            update.run();
+        } catch (RuntimeException ex) {
+            log.error("Unable to refresh {}, keeping previous values, message: {}", name, ex.getMessage());
+        }
+    }
+
+}
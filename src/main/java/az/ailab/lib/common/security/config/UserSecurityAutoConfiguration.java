@@ -0,0 +1,100 @@
+package az.ailab.lib.common.security.config;
+
+import az.ailab.lib.common.security.cache.AuthenticationCache;
+import az.ailab.lib.common.security.config.properties.UserSecurityProperties;
+import az.ailab.lib.common.security.permission.scope.RowScopeDataSource;
+import az.ailab.lib.common.security.permission.scope.RowScopeFilters;
+import az.ailab.lib.common.security.verifier.ApiKeyVerifier;
+import az.ailab.lib.common.security.verifier.JwksKeySetLoader;
+import az.ailab.lib.common.security.verifier.JwksVerifier;
+import az.ailab.lib.common.security.verifier.JwtVerifier;
+import az.ailab.lib.common.security.verifier.TokenVerifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+
+@Configuration
+@EnableConfigurationProperties(UserSecurityProperties.class)
+public class UserSecurityAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "users.security.authentication-cache", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public AuthenticationCache authenticationCache(final UserSecurityProperties properties) {
+        return new AuthenticationCache(properties.getAuthenticationCache().getMaxSize());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "users.security.verification", name = {"enabled", "jwks-location"})
+    public JwksKeySetLoader jwksKeySetLoader(final UserSecurityProperties properties,
+                                             final ResourceLoader resourceLoader,
+                                             final ObjectMapper objectMapper) {
+        final UserSecurityProperties.VerificationProperties verification = properties.getVerification();
+        return new JwksKeySetLoader(resourceLoader.getResource(verification.getJwksLocation()), objectMapper,
+                verification.getJwksRefreshInterval());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(TokenVerifier.class)
+    @ConditionalOnProperty(prefix = "users.security.verification", name = "enabled", havingValue = "true")
+    public TokenVerifier tokenVerifier(final UserSecurityProperties properties,
+                                       final ObjectProvider<JwksKeySetLoader> jwksKeySetLoader) {
+        final JwksKeySetLoader keySetLoader = jwksKeySetLoader.getIfAvailable();
+        if (keySetLoader != null) {
+            return new JwksVerifier(keySetLoader);
+        }
+        return new JwtVerifier(properties.getVerification().getKeys());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "users.security.service-authentication", name = "enabled", havingValue = "true")
+    public ApiKeyVerifier apiKeyVerifier(final UserSecurityProperties properties) {
+        return new ApiKeyVerifier(properties.getServiceAuthentication().getApiKeys());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "org.hibernate.Session")
+    public RowScopeFilters rowScopeFilters() {
+        return new RowScopeFilters();
+    }
+
+    /**
+     * Wraps one data source, {@code users.security.row-scope.data-source-bean-name} ({@code dataSource} by default),
+     * so every checked out connection carries the user's scope as session settings for database row-level
+     * security policies. Other data sources, such as the targets of a routing data source, are left untouched.
+     * The wrapped bean is exposed as {@link RowScopeDataSource}; use {@link DataSource#unwrap(Class)} to reach
+     * the pool type.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "users.security.row-scope", name = "rls-enabled", havingValue = "true")
+    public static BeanPostProcessor rowScopeDataSourcePostProcessor(final Environment environment) {
+        final String settingPrefix = environment.getProperty("users.security.row-scope.setting-prefix",
+                RowScopeDataSource.DEFAULT_SETTING_PREFIX);
+        final String dataSourceBeanName = environment.getProperty("users.security.row-scope.data-source-bean-name",
+                RowScopeDataSource.DEFAULT_DATA_SOURCE_BEAN_NAME);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (dataSourceBeanName.equals(beanName)
+                        && bean instanceof DataSource dataSource && !(bean instanceof RowScopeDataSource)) {
+                    return new RowScopeDataSource(dataSource, settingPrefix);
+                }
+                return bean;
+            }
+        };
+    }
+
+}
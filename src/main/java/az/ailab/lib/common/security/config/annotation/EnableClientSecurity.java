@@ -4,6 +4,7 @@ import static java.lang.annotation.ElementType.TYPE;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 import az.ailab.lib.common.security.config.ClientSecurityAutoConfiguration;
+import az.ailab.lib.common.security.config.SecurityPropertiesRefreshConfiguration;
 import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
@@ -12,7 +13,7 @@ import org.springframework.context.annotation.Import;
 @Target(TYPE)
 @Retention(RUNTIME)
 @Documented
-@Import(ClientSecurityAutoConfiguration.class)
+@Import({ClientSecurityAutoConfiguration.class, SecurityPropertiesRefreshConfiguration.class})
 public @interface EnableClientSecurity {
 
 }
\ No newline at end of file
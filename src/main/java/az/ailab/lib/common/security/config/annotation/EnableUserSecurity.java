@@ -3,6 +3,8 @@ package az.ailab.lib.common.security.config.annotation;
 import static java.lang.annotation.ElementType.TYPE;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
+import az.ailab.lib.common.security.config.SecurityPropertiesRefreshConfiguration;
+import az.ailab.lib.common.security.config.UserSecurityAutoConfiguration;
 import az.ailab.lib.common.security.provider.UserTokenProvider;
 import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
@@ -12,7 +14,7 @@ import org.springframework.context.annotation.Import;
 @Target(TYPE)
 @Retention(RUNTIME)
 @Documented
-@Import(UserTokenProvider.class)
+@Import({UserSecurityAutoConfiguration.class, SecurityPropertiesRefreshConfiguration.class, UserTokenProvider.class})
 public @interface EnableUserSecurity {
 
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package az.ailab.lib.common.security.config.properties;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -12,5 +15,21 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class ClientSecurityProperties {
 
     private Map<String, String> apiKeys = new HashMap<>();
+    private ServiceTokenProperties serviceToken = new ServiceTokenProperties();
+
+    /**
+     * Signed service tokens sent instead of the static API key to the listed clients.
+     */
+    @Getter
+    @Setter
+    public static class ServiceTokenProperties {
+
+        private Set<String> clients = new LinkedHashSet<>();
+        private String keyId;
+        private String secret;
+        private Duration ttl = Duration.ofMinutes(5);
+        private Duration refreshAhead = Duration.ofMinutes(1);
+
+    }
 
 }
@@ -0,0 +1,62 @@
+package az.ailab.lib.common.security.config.properties;
+
+import az.ailab.lib.common.security.cache.AuthenticationCache;
+import az.ailab.lib.common.security.permission.scope.RowScopeDataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.security")
+public class UserSecurityProperties {
+
+    private AuthenticationCacheProperties authenticationCache = new AuthenticationCacheProperties();
+    private VerificationProperties verification = new VerificationProperties();
+    private RowScopeProperties rowScope = new RowScopeProperties();
+    private ServiceAuthenticationProperties serviceAuthentication = new ServiceAuthenticationProperties();
+
+    @Getter
+    @Setter
+    public static class AuthenticationCacheProperties {
+
+        private boolean enabled = true;
+        private int maxSize = AuthenticationCache.DEFAULT_MAX_SIZE;
+
+    }
+
+    @Getter
+    @Setter
+    public static class VerificationProperties {
+
+        private boolean enabled = false;
+        private Map<String, String> keys = new LinkedHashMap<>();
+        private String jwksLocation;
+        private Duration jwksRefreshInterval = Duration.ofMinutes(1);
+
+    }
+
+    @Getter
+    @Setter
+    public static class RowScopeProperties {
+
+        private boolean rlsEnabled = false;
+        private String settingPrefix = RowScopeDataSource.DEFAULT_SETTING_PREFIX;
+        private String dataSourceBeanName = RowScopeDataSource.DEFAULT_DATA_SOURCE_BEAN_NAME;
+
+    }
+
+    @Getter
+    @Setter
+    public static class ServiceAuthenticationProperties {
+
+        private boolean enabled = false;
+        private Map<String, List<String>> apiKeys = new LinkedHashMap<>();
+
+    }
+
+}
@@ -4,8 +4,11 @@ public final class SecurityConstant {
 
     public static final String X_SERVICE_NAME = "X-Service-Name";
     public static final String X_Client_API_KEY = "X-Client-Api-Key";
+    public static final String X_SERVICE_TOKEN = "X-Service-Token";
 
+    public static final int HEADER_INDEX = 0;
     public static final int PAYLOAD_INDEX = 1;
+    public static final int SIGNATURE_INDEX = 2;
     public static final String ROLE_PREFIX = "ROLE_";
     public static final String BEARER = "Bearer ";
 
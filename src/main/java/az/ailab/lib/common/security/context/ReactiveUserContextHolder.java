@@ -0,0 +1,199 @@
+package az.ailab.lib.common.security.context;
+
+import az.ailab.lib.common.security.model.UserPrincipal;
+import az.ailab.lib.common.security.model.enums.ActivityType;
+import az.ailab.lib.common.security.model.enums.PermissionEnum;
+import az.ailab.lib.common.security.model.enums.PermissionLevel;
+import az.ailab.lib.common.security.model.enums.RankType;
+import az.ailab.lib.common.security.model.enums.RoleType;
+import az.ailab.lib.common.security.model.enums.UserType;
+import az.ailab.lib.common.security.model.vo.DirectorateInfo;
+import az.ailab.lib.common.security.model.vo.InstitutionInfo;
+import az.ailab.lib.common.security.model.vo.PermissionMatrix;
+import az.ailab.lib.common.security.model.vo.UserRole;
+import java.util.Map;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link UserContextHolder} for WebFlux applications.
+ * <p>
+ * Reads the authentication written by {@link az.ailab.lib.common.security.filter.ReactiveJwtTokenFilter}
+ * from the Reactor context and exposes the same accessors as {@link Mono}s. Values that are absent
+ * (e.g. for anonymous requests) complete empty; boolean checks emit {@code false}. Like the servlet
+ * holder, all accessors read from the {@link UserContext} snapshot carried by the authentication.</p>
+ * <pre>
+ * return ReactiveUserContextHolder.getContext()
+ *         .flatMap(context -&gt; orderRepository.findByInstitutionId(context.getInstitutionId()));
+ * </pre>
+ *
+ * @since 1.2
+ */
+public final class ReactiveUserContextHolder {
+
+    private ReactiveUserContextHolder() {
+        // Utility class, no instantiation
+    }
+
+    /**
+     * Get the snapshot of the current authenticated user.
+     *
+     * @return the current {@link UserContext}, or {@link UserContext#ANONYMOUS} if no user is authenticated
+     */
+    public static Mono<UserContext> getContext() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .map(UserContextHolder::resolve)
+                .defaultIfEmpty(UserContext.ANONYMOUS);
+    }
+
+    public static Mono<UserPrincipal> getCurrentUser() {
+        return getContext().mapNotNull(UserContext::getPrincipal);
+    }
+
+    public static Mono<UserScope> getScope() {
+        return getContext().map(UserContext::getScope);
+    }
+
+    public static Mono<Long> getUserId() {
+        return getContext().mapNotNull(UserContext::getUserId);
+    }
+
+    public static Mono<String> getFirstName() {
+        return getContext().mapNotNull(UserContext::getFirstName);
+    }
+
+    public static Mono<String> getLastName() {
+        return getContext().mapNotNull(UserContext::getLastName);
+    }
+
+    public static Mono<String> getPin() {
+        return getContext().mapNotNull(UserContext::getPin);
+    }
+
+    public static Mono<String> getEmail() {
+        return getContext().mapNotNull(UserContext::getEmail);
+    }
+
+    public static Mono<UserType> getUserType() {
+        return getContext().mapNotNull(UserContext::getUserType);
+    }
+
+    public static Mono<String> getRank() {
+        return getContext().mapNotNull(UserContext::getRank);
+    }
+
+    public static Mono<String> getPosition() {
+        return getContext().mapNotNull(UserContext::getPosition);
+    }
+
+    public static Mono<Long> getDirectStructureId() {
+        return getContext().mapNotNull(UserContext::getDirectStructureId);
+    }
+
+    /* ROLE INFO*/
+
+    public static Mono<UserRole> getRole() {
+        return getContext().mapNotNull(UserContext::getRole);
+    }
+
+    public static Mono<Long> getRoleId() {
+        return getContext().mapNotNull(UserContext::getRoleId);
+    }
+
+    public static Mono<String> getRoleName() {
+        return getContext().mapNotNull(UserContext::getRoleName);
+    }
+
+    public static Mono<RoleType> getRoleType() {
+        return getContext().mapNotNull(UserContext::getRoleType);
+    }
+
+    public static Mono<Boolean> isExpert() {
+        return getContext().map(UserContext::isExpert);
+    }
+
+    public static Mono<Boolean> isInstitutionAdmin() {
+        return getContext().map(UserContext::isInstitutionAdmin);
+    }
+
+    public static Mono<Boolean> isDirectorateAdmin() {
+        return getContext().map(UserContext::isDirectorateAdmin);
+    }
+
+    public static Mono<Map<PermissionEnum, PermissionLevel>> getPermissions() {
+        return getContext().map(UserContext::getPermissions);
+    }
+
+    public static Mono<PermissionMatrix> getPermissionMatrix() {
+        return getContext().map(UserContext::getPermissionMatrix);
+    }
+
+    /* INSTITUTION INFO */
+
+    public static Mono<InstitutionInfo> getInstitution() {
+        return getContext().mapNotNull(UserContext::getInstitution);
+    }
+
+    public static Mono<Integer> getInstitutionId() {
+        return getContext().mapNotNull(UserContext::getInstitutionId);
+    }
+
+    public static Mono<String> getInstitutionName() {
+        return getContext().mapNotNull(UserContext::getInstitutionName);
+    }
+
+    public static Mono<ActivityType> getActivityType() {
+        return getContext().mapNotNull(UserContext::getActivityType);
+    }
+
+    public static Mono<RankType> getInstitutionRankType() {
+        return getContext().mapNotNull(UserContext::getInstitutionRankType);
+    }
+
+    public static Mono<Boolean> isInstitutionProvider() {
+        return getContext().map(UserContext::isInstitutionProvider);
+    }
+
+    public static Mono<Boolean> isInstitutionRequester() {
+        return getContext().map(UserContext::isInstitutionRequester);
+    }
+
+    public static Mono<Boolean> areInstitutionProviderAndRequester() {
+        return getContext().map(UserContext::areInstitutionProviderAndRequester);
+    }
+
+    public static Mono<String> getStructurePath() {
+        return getContext().mapNotNull(UserContext::getStructurePath);
+    }
+
+    public static Mono<DirectorateInfo> getDirectorateInfo() {
+        return getContext().mapNotNull(UserContext::getDirectorate);
+    }
+
+    public static Mono<Long> getDirectorateId() {
+        return getContext().mapNotNull(UserContext::getDirectorateId);
+    }
+
+    public static Mono<String> getDirectorateName() {
+        return getContext().mapNotNull(UserContext::getDirectorateName);
+    }
+
+    public static Mono<String> getDirectorateActivityType() {
+        return getContext().mapNotNull(UserContext::getDirectorateActivityType);
+    }
+
+    public static Mono<Boolean> isDirectorateProvider() {
+        return getContext().map(UserContext::isDirectorateProvider);
+    }
+
+    public static Mono<Boolean> isDirectorateRequester() {
+        return getContext().map(UserContext::isDirectorateRequester);
+    }
+
+    public static Mono<Boolean> isAuthenticated() {
+        return getContext().map(UserContext::isAuthenticated);
+    }
+
+}
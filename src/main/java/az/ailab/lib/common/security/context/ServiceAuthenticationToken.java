@@ -0,0 +1,47 @@
+package az.ailab.lib.common.security.context;
+
+import az.ailab.lib.common.security.authority.AuthorityRegistry;
+import java.util.List;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+
+/**
+ * Authentication of a calling service that presented a valid API key.
+ * <p>The principal is the service name and the only authority is {@code ROLE_SERVICE}. A new instance is created
+ * for every authenticated request, since details and the authenticated flag of a token are mutable.</p>
+ *
+ * @since 1.2
+ */
+public class ServiceAuthenticationToken extends AbstractAuthenticationToken {
+
+    /**
+     * Role name, without prefix, granted to authenticated services.
+     */
+    public static final String SERVICE_ROLE = "SERVICE";
+
+    private final String serviceName;
+
+    public ServiceAuthenticationToken(final String serviceName) {
+        super(List.of(AuthorityRegistry.role(SERVICE_ROLE)));
+        this.serviceName = serviceName;
+        super.setAuthenticated(true);
+    }
+
+    @Override
+    public String getPrincipal() {
+        return serviceName;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public void setAuthenticated(final boolean authenticated) {
+        if (authenticated) {
+            throw new IllegalArgumentException("Service authentications are created authenticated");
+        }
+        super.setAuthenticated(false);
+    }
+
+}
@@ -0,0 +1,53 @@
+package az.ailab.lib.common.security.context;
+
+import az.ailab.lib.common.security.model.UserPrincipal;
+import java.util.Collection;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Authentication for a {@link UserPrincipal} that carries the pre-built {@link UserContext} snapshot.
+ * <p>The snapshot is created once together with the authentication, so it is reused for as long as the
+ * authentication is cached and {@link UserContextHolder} never rebuilds it per request.</p>
+ *
+ * @since 1.2
+ */
+public class UserAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private final transient UserContext userContext;
+
+    public UserAuthenticationToken(final UserPrincipal principal,
+                                   final Collection<? extends GrantedAuthority> authorities) {
+        this(principal, authorities, null);
+    }
+
+    /**
+     * Creates the authentication and keeps the raw token on its {@link UserContext}, so outbound calls can
+     * forward it from any thread the context is propagated to, without reading the request headers.
+     *
+     * @param principal   the authenticated user
+     * @param authorities the user's authorities
+     * @param token       the raw token the user authenticated with, may be {@code null}
+     */
+    public UserAuthenticationToken(final UserPrincipal principal,
+                                   final Collection<? extends GrantedAuthority> authorities,
+                                   final String token) {
+        super(principal, "", authorities);
+        this.userContext = UserContext.of(principal, token);
+    }
+
+    @Override
+    public UserPrincipal getPrincipal() {
+        return (UserPrincipal) super.getPrincipal();
+    }
+
+    /**
+     * Returns the snapshot of the authenticated user.
+     *
+     * @return the {@link UserContext}
+     */
+    public UserContext getUserContext() {
+        return userContext != null ? userContext : UserContext.of(getPrincipal());
+    }
+
+}
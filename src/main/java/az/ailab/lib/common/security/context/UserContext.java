@@ -0,0 +1,258 @@
+package az.ailab.lib.common.security.context;
+
+import az.ailab.lib.common.security.constants.SecurityConstant;
+import az.ailab.lib.common.security.model.UserPrincipal;
+import az.ailab.lib.common.security.model.enums.ActivityType;
+import az.ailab.lib.common.security.model.enums.PermissionEnum;
+import az.ailab.lib.common.security.model.enums.PermissionLevel;
+import az.ailab.lib.common.security.model.enums.RankType;
+import az.ailab.lib.common.security.model.enums.RoleType;
+import az.ailab.lib.common.security.model.enums.UserType;
+import az.ailab.lib.common.security.model.vo.DirectorateInfo;
+import az.ailab.lib.common.security.model.vo.InstitutionInfo;
+import az.ailab.lib.common.security.model.vo.PermissionMatrix;
+import az.ailab.lib.common.security.model.vo.StructurePath;
+import az.ailab.lib.common.security.model.vo.UserRole;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Immutable, flattened snapshot of the authenticated user's details.
+ * <p>
+ * Built once per authentication (and therefore cached together with it) from the {@link UserPrincipal},
+ * so reading the current user's data is a plain field access instead of walking the principal's nested
+ * value objects through {@code Optional} chains. Obtain it once with {@link UserContextHolder#getContext()}
+ * and read as many values as needed:</p>
+ * <pre>
+ * UserContext context = UserContextHolder.getContext();
+ * UserScope scope = context.getScope();
+ * </pre>
+ * <p>For unauthenticated requests {@link #ANONYMOUS} is returned: every value is {@code null},
+ * and the permission matrix is {@link PermissionMatrix#EMPTY}.</p>
+ *
+ * @since 1.2
+ */
+@Getter
+public final class UserContext {
+
+    /**
+     * Context of an unauthenticated request.
+     */
+    public static final UserContext ANONYMOUS = UserContext.builder().build();
+
+    private final boolean authenticated;
+    private final UserPrincipal principal;
+
+    private final Long userId;
+    private final String firstName;
+    private final String lastName;
+    private final String pin;
+    private final String email;
+    private final UserType userType;
+    private final String rank;
+    private final String position;
+    private final Long directStructureId;
+
+    private final UserRole role;
+    private final Long roleId;
+    private final String roleName;
+    private final RoleType roleType;
+    private final PermissionMatrix permissionMatrix;
+
+    private final InstitutionInfo institution;
+    private final Integer institutionId;
+    private final String institutionName;
+    private final String structurePath;
+
+    private final DirectorateInfo directorate;
+    private final Long directorateId;
+    private final String directorateName;
+    private final String directorateActivityType;
+
+    private final UserScope scope;
+
+    /**
+     * The raw token the user authenticated with, for forwarding to other services; {@code null} if unknown.
+     */
+    private final String token;
+
+    /**
+     * {@code Bearer <token>}, built once for outbound {@code Authorization} headers; {@code null} without a token.
+     */
+    private final String authorizationHeader;
+
+    @Builder
+    private UserContext(final boolean authenticated,
+                        final UserPrincipal principal,
+                        final Long userId,
+                        final String firstName,
+                        final String lastName,
+                        final String pin,
+                        final String email,
+                        final UserType userType,
+                        final String rank,
+                        final String position,
+                        final Long directStructureId,
+                        final UserRole role,
+                        final PermissionMatrix permissionMatrix,
+                        final InstitutionInfo institution,
+                        final Integer institutionId,
+                        final String institutionName,
+                        final String structurePath,
+                        final DirectorateInfo directorate,
+                        final Long directorateId,
+                        final String directorateName,
+                        final String directorateActivityType,
+                        final String token) {
+        this.authenticated = authenticated;
+        this.principal = principal;
+        this.userId = userId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.pin = pin;
+        this.email = email;
+        this.userType = userType;
+        this.rank = rank;
+        this.position = position;
+        this.directStructureId = directStructureId;
+        this.role = role;
+        this.roleId = role != null ? role.id() : null;
+        this.roleName = role != null ? role.name() : null;
+        this.roleType = role != null ? role.type() : null;
+        this.permissionMatrix = permissionMatrix != null ? permissionMatrix : PermissionMatrix.EMPTY;
+        this.institution = institution;
+        this.institutionId = institutionId;
+        this.institutionName = institutionName;
+        this.structurePath = structurePath;
+        this.directorate = directorate;
+        this.directorateId = directorateId;
+        this.directorateName = directorateName;
+        this.directorateActivityType = directorateActivityType;
+        this.scope = new UserScope(userId, directorateId, institutionId, structurePath, resolvePath(institution, structurePath));
+        this.token = token;
+        this.authorizationHeader = token != null ? SecurityConstant.BEARER + token : null;
+    }
+
+    /**
+     * Builds the snapshot for an authenticated principal.
+     *
+     * @param principal the authenticated user principal
+     * @return the flattened {@link UserContext}
+     */
+    public static UserContext of(final UserPrincipal principal) {
+        return of(principal, null);
+    }
+
+    /**
+     * Builds the snapshot for an authenticated principal and the token it was read from.
+     *
+     * @param principal the authenticated user principal
+     * @param token     the raw token, may be {@code null}
+     * @return the flattened {@link UserContext}
+     */
+    public static UserContext of(final UserPrincipal principal, final String token) {
+        final InstitutionInfo institution = principal.institution();
+        final DirectorateInfo directorate = institution != null ? institution.directorateInfo() : null;
+
+        return UserContext.builder()
+                .authenticated(true)
+                .principal(principal)
+                .userId(principal.id())
+                .firstName(principal.firstName())
+                .lastName(principal.lastName())
+                .pin(principal.pin())
+                .email(principal.email())
+                .userType(principal.userType())
+                .rank(principal.rank())
+                .position(principal.position())
+                .directStructureId(principal.directStructureId())
+                .role(principal.role())
+                .permissionMatrix(principal.permissionMatrix())
+                .institution(institution)
+                .institutionId(institution != null ? institution.id() : null)
+                .institutionName(institution != null ? institution.name() : null)
+                .structurePath(institution != null ? institution.path() : null)
+                .directorate(directorate)
+                .directorateId(directorate != null ? directorate.id() : null)
+                .directorateName(directorate != null ? directorate.name() : null)
+                .directorateActivityType(directorate != null ? directorate.activityType() : null)
+                .token(token)
+                .build();
+    }
+
+    /**
+     * Returns the activity type of the user's institution.
+     *
+     * @return the {@link ActivityType}, or {@code null} if the user has no institution
+     * @throws IllegalArgumentException if the institution's activity type is invalid
+     */
+    public ActivityType getActivityType() {
+        return institution != null ? institution.getActivityType() : null;
+    }
+
+    /**
+     * Returns the rank type of the user's institution.
+     *
+     * @return the {@link RankType}, or {@code null} if the user has no institution
+     * @throws IllegalArgumentException if the institution's rank type is invalid
+     */
+    public RankType getInstitutionRankType() {
+        return institution != null ? institution.getRankType() : null;
+    }
+
+    public boolean isExpert() {
+        return roleType == RoleType.EXPERT;
+    }
+
+    public boolean isInstitutionAdmin() {
+        return roleType == RoleType.INSTITUTION_ADMIN;
+    }
+
+    public boolean isDirectorateAdmin() {
+        return roleType == RoleType.DIRECTORATE_ADMIN;
+    }
+
+    public boolean isInstitutionProvider() {
+        final ActivityType type = getActivityType();
+        return type == ActivityType.PROVIDER || type == ActivityType.BOTH;
+    }
+
+    public boolean isInstitutionRequester() {
+        return getActivityType() == ActivityType.REQUESTER;
+    }
+
+    public boolean areInstitutionProviderAndRequester() {
+        return getActivityType() == ActivityType.BOTH;
+    }
+
+    public boolean isDirectorateProvider() {
+        return ActivityType.PROVIDER.name().equals(directorateActivityType);
+    }
+
+    public boolean isDirectorateRequester() {
+        return ActivityType.REQUESTER.name().equals(directorateActivityType);
+    }
+
+    /**
+     * Returns the permission map of the user's role.
+     *
+     * @return the permissions, or an empty map if the user has no role
+     */
+    public Map<PermissionEnum, PermissionLevel> getPermissions() {
+        return role != null && role.permissions() != null ? role.permissions() : Collections.emptyMap();
+    }
+
+    /**
+     * Reuses the path already parsed on the principal's institution, parsing only when it is absent or differs.
+     */
+    private static StructurePath resolvePath(final InstitutionInfo institution, final String structurePath) {
+        if (institution != null && institution.resolvedPath() != null && Objects.equals(institution.path(), structurePath)) {
+            return institution.resolvedPath();
+        }
+        return StructurePath.of(structurePath);
+    }
+
+}
@@ -0,0 +1,65 @@
+package az.ailab.lib.common.security.context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent calls in parallel with the caller's {@link UserContext} bound in every task.
+ * <p>
+ * Typical use is fanning out Feign calls: {@link az.ailab.lib.common.security.interceptor.ClientAuthInterceptor}
+ * forwards the token kept on the bound context, so each parallel request carries the user's
+ * {@code Authorization} header although it runs outside the servlet request thread.</p>
+ * <pre>
+ * ExecutorService executor = Executors.newFixedThreadPool(16);
+ * List&lt;UserDto&gt; users = UserContextFanOut.map(userIds, userClient::getUser, executor);
+ * </pre>
+ * <p>The context is captured on the calling thread and bound with {@link UserContextScope}, so the tasks
+ * neither copy the security context nor read request headers.</p>
+ *
+ * @since 1.2
+ */
+public final class UserContextFanOut {
+
+    private UserContextFanOut() {
+        // Utility class, no instantiation
+    }
+
+    /**
+     * Applies the call to every input in parallel and waits for all results.
+     *
+     * @param inputs   the inputs, one task each
+     * @param call     the call to run for an input
+     * @param executor the executor running the tasks
+     * @param <T>      the input type
+     * @param <R>      the result type
+     * @return the results, in the order of the inputs
+     * @throws RuntimeException the failure of the first failed call in input order; the remaining calls are
+     *                          cancelled if they have not started yet
+     */
+    public static <T, R> List<R> map(final Collection<? extends T> inputs,
+                                     final Function<? super T, ? extends R> call,
+                                     final Executor executor) {
+        final List<CompletableFuture<R>> futures = new ArrayList<>(inputs.size());
+        for (T input : inputs) {
+            futures.add(CompletableFuture.supplyAsync(UserContextScope.wrap((Supplier<R>) () -> call.apply(input)), executor));
+        }
+
+        final List<R> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<R> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException ex) {
+            futures.forEach(future -> future.cancel(false));
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+        return results;
+    }
+
+}
@@ -9,8 +9,8 @@ import az.ailab.lib.common.security.model.enums.RoleType;
 import az.ailab.lib.common.security.model.enums.UserType;
 import az.ailab.lib.common.security.model.vo.DirectorateInfo;
 import az.ailab.lib.common.security.model.vo.InstitutionInfo;
+import az.ailab.lib.common.security.model.vo.PermissionMatrix;
 import az.ailab.lib.common.security.model.vo.UserRole;
-import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import org.springframework.security.core.Authentication;
@@ -18,9 +18,20 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 /**
  * Provides static access to the currently authenticated user's information.
+ * <p>
+ * Every getter reads from the {@link UserContext} snapshot carried by the current authentication.
+ * When several values are needed, call {@link #getContext()} once and read them from the snapshot.
+ * Authentications other than {@link UserAuthenticationToken} that hold a {@link UserPrincipal} have no
+ * snapshot of their own; theirs is built on first use and reused on the same thread while the
+ * authentication instance stays current.</p>
  */
 public final class UserContextHolder {
 
+    /**
+     * Snapshot of the last authentication without a carried {@link UserContext} resolved on this thread.
+     */
+    private static final ThreadLocal<ResolvedContext> LAST_RESOLVED = new ThreadLocal<>();
+
     private UserContextHolder() {
         // Utility class, no instantiation
     }
@@ -31,13 +42,61 @@ public final class UserContextHolder {
      * @return Optional containing the user principal or empty if no authentication
      */
     public static Optional<UserPrincipal> getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return Optional.ofNullable(getContext().getPrincipal());
+    }
 
-        if (authentication != null && authentication.isAuthenticated() && authentication.getPrincipal() instanceof UserPrincipal) {
-            return Optional.of((UserPrincipal) authentication.getPrincipal());
+    /**
+     * Get the snapshot of the current authenticated user.
+     * <p>
+     * Resolves the authentication once and returns its pre-built {@link UserContext}; read all required
+     * values from the returned object instead of calling several static getters in a row. Inside a task
+     * bound by {@link UserContextScope} the bound context is returned instead.</p>
+     *
+     * @return the current {@link UserContext}, or {@link UserContext#ANONYMOUS} if no user is authenticated
+     */
+    public static UserContext getContext() {
+        final UserContext scoped = UserContextScope.current();
+        if (scoped != null) {
+            return scoped;
         }
 
-        return Optional.empty();
+        return resolve(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    /**
+     * Resolves the {@link UserContext} carried by an authentication.
+     * <p>For a {@link UserPrincipal} held by another authentication type the snapshot is built once per
+     * authentication instance and thread.</p>
+     *
+     * @param authentication the authentication, may be {@code null}
+     * @return the user's context, or {@link UserContext#ANONYMOUS} if it is not an authenticated user
+     */
+    static UserContext resolve(final Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return UserContext.ANONYMOUS;
+        }
+        if (authentication instanceof UserAuthenticationToken userAuthentication) {
+            return userAuthentication.getUserContext();
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            final ResolvedContext resolved = LAST_RESOLVED.get();
+            if (resolved != null && resolved.authentication() == authentication) {
+                return resolved.context();
+            }
+            final UserContext context = UserContext.of(principal);
+            LAST_RESOLVED.set(new ResolvedContext(authentication, context));
+            return context;
+        }
+        return UserContext.ANONYMOUS;
+    }
+
+    /**
+     * Get the identifiers used by permission checks in one call.
+     *
+     * @return the current {@link UserScope}; all values are {@code null} if no user is authenticated
+     */
+    public static UserScope getScope() {
+        return getContext().getScope();
     }
 
     /**
@@ -46,7 +105,7 @@ public final class UserContextHolder {
      * @return User ID or null if no authenticated user
      */
     public static Long getUserId() {
-        return getCurrentUser().map(UserPrincipal::id).orElse(null);
+        return getContext().getUserId();
     }
 
     /**
@@ -55,7 +114,7 @@ public final class UserContextHolder {
      * @return first name or null if no authenticated user
      */
     public static String getFirstName() {
-        return getCurrentUser().map(UserPrincipal::firstName).orElse(null);
+        return getContext().getFirstName();
     }
 
     /**
@@ -64,7 +123,7 @@ public final class UserContextHolder {
      * @return last name or null if no authenticated user
      */
     public static String getLastName() {
-        return getCurrentUser().map(UserPrincipal::lastName).orElse(null);
+        return getContext().getLastName();
     }
 
     /**
@@ -73,7 +132,7 @@ public final class UserContextHolder {
      * @return PIN or null if no authenticated user
      */
     public static String getPin() {
-        return getCurrentUser().map(UserPrincipal::pin).orElse(null);
+        return getContext().getPin();
     }
 
     /**
@@ -82,11 +141,11 @@ public final class UserContextHolder {
      * @return Email or null if no authenticated user
      */
     public static String getEmail() {
-        return getCurrentUser().map(UserPrincipal::email).orElse(null);
+        return getContext().getEmail();
     }
 
     public static UserType getUserType() {
-        return getCurrentUser().map(UserPrincipal::userType).orElse(null);
+        return getContext().getUserType();
     }
 
     /**
@@ -95,7 +154,7 @@ public final class UserContextHolder {
      * @return Rank or null if no authenticated user
      */
     public static String getRank() {
-        return getCurrentUser().map(UserPrincipal::rank).orElse(null);
+        return getContext().getRank();
     }
 
     /**
@@ -104,7 +163,7 @@ public final class UserContextHolder {
      * @return Position or null if no authenticated user
      */
     public static String getPosition() {
-        return getCurrentUser().map(UserPrincipal::position).orElse(null);
+        return getContext().getPosition();
     }
 
     /**
@@ -125,7 +184,7 @@ public final class UserContextHolder {
      * @return the structure ID if user is authenticated, or {@code null} otherwise
      */
     public static Long getDirectStructureId() {
-        return getCurrentUser().map(UserPrincipal::directStructureId).orElse(null);
+        return getContext().getDirectStructureId();
     }
 
     /* ROLE INFO*/
@@ -136,7 +195,7 @@ public final class UserContextHolder {
      * @return {@link UserRole} of the current user, or {@code null} if no user is authenticated
      */
     public static UserRole getRole() {
-        return getCurrentUser().map(UserPrincipal::role).orElse(null);
+        return getContext().getRole();
     }
 
     /**
@@ -145,9 +204,7 @@ public final class UserContextHolder {
      * @return role ID, or {@code null} if no user or role is available
      */
     public static Long getRoleId() {
-        return Optional.ofNullable(getRole())
-                .map(UserRole::id)
-                .orElse(null);
+        return getContext().getRoleId();
     }
 
     /**
@@ -156,9 +213,7 @@ public final class UserContextHolder {
      * @return role name, or {@code null} if no user or role is available
      */
     public static String getRoleName() {
-        return Optional.ofNullable(getRole())
-                .map(UserRole::name)
-                .orElse(null);
+        return getContext().getRoleName();
     }
 
     /**
@@ -167,9 +222,7 @@ public final class UserContextHolder {
      * @return {@link RoleType}, or {@code null} if no user or role type is available
      */
     public static RoleType getRoleType() {
-        return Optional.ofNullable(getRole())
-                .map(UserRole::type)
-                .orElse(null);
+        return getContext().getRoleType();
     }
 
     /**
@@ -178,7 +231,7 @@ public final class UserContextHolder {
      * @return {@code true} if the user is an Expert; {@code false} otherwise
      */
     public static boolean isExpert() {
-        return RoleType.EXPERT.equals(getRoleType());
+        return getContext().isExpert();
     }
 
     /**
@@ -187,7 +240,7 @@ public final class UserContextHolder {
      * @return {@code true} if the user is an Institution Admin; {@code false} otherwise
      */
     public static boolean isInstitutionAdmin() {
-        return RoleType.INSTITUTION_ADMIN.equals(getRoleType());
+        return getContext().isInstitutionAdmin();
     }
 
     /**
@@ -196,7 +249,7 @@ public final class UserContextHolder {
      * @return {@code true} if the user is a Directorate Admin; {@code false} otherwise
      */
     public static boolean isDirectorateAdmin() {
-        return RoleType.DIRECTORATE_ADMIN.equals(getRoleType());
+        return getContext().isDirectorateAdmin();
     }
 
     /**
@@ -205,9 +258,17 @@ public final class UserContextHolder {
      * @return a {@link Map} of {@link PermissionEnum} to {@link PermissionLevel}, or an empty map if the user is not authenticated.
      */
     public static Map<PermissionEnum, PermissionLevel> getPermissions() {
-        return Optional.ofNullable(getRole())
-                .map(UserRole::permissions)
-                .orElse(Collections.emptyMap());
+        return getContext().getPermissions();
+    }
+
+    /**
+     * Retrieves the packed permissions of the currently authenticated user's role.
+     * <p>Prefer this over {@link #getPermissions()} for checks: lookups are allocation-free bit operations.</p>
+     *
+     * @return the {@link PermissionMatrix}, or {@link PermissionMatrix#EMPTY} if the user is not authenticated
+     */
+    public static PermissionMatrix getPermissionMatrix() {
+        return getContext().getPermissionMatrix();
     }
 
     /* INSTITUTION INFO */
@@ -218,7 +279,7 @@ public final class UserContextHolder {
      * @return the {@link InstitutionInfo} of the authenticated user, or {@code null} if not authenticated
      */
     public static InstitutionInfo getInstitution() {
-        return getCurrentUser().map(UserPrincipal::institution).orElse(null);
+        return getContext().getInstitution();
     }
 
     /**
@@ -227,9 +288,7 @@ public final class UserContextHolder {
      * @return the institution ID, or {@code null} if the user is not authenticated or institution is unavailable
      */
     public static Integer getInstitutionId() {
-        return Optional.ofNullable(getInstitution())
-                .map(InstitutionInfo::id)
-                .orElse(null);
+        return getContext().getInstitutionId();
     }
 
     /**
@@ -238,9 +297,7 @@ public final class UserContextHolder {
      * @return the institution name, or {@code null} if the user is not authenticated or institution is unavailable
      */
     public static String getInstitutionName() {
-        return Optional.ofNullable(getInstitution())
-                .map(InstitutionInfo::name)
-                .orElse(null);
+        return getContext().getInstitutionName();
     }
 
     /**
@@ -249,9 +306,7 @@ public final class UserContextHolder {
      * @return the {@link ActivityType} of the current authenticated user's institution, or {@code null} if not authenticated
      */
     public static ActivityType getActivityType() {
-        return Optional.ofNullable(getInstitution())
-                .map(InstitutionInfo::getActivityType)
-                .orElse(null);
+        return getContext().getActivityType();
     }
 
     /**
@@ -260,9 +315,7 @@ public final class UserContextHolder {
      * @return the Rank type of the current authenticated user's institution, or {@code null} if not authenticated
      */
     public static RankType getInstitutionRankType() {
-        return Optional.ofNullable(getInstitution())
-                .map(InstitutionInfo::getRankType)
-                .orElse(null);
+        return getContext().getInstitutionRankType();
     }
 
     /**
@@ -275,10 +328,7 @@ public final class UserContextHolder {
      * @return {@code true} if the institution is a provider or both; {@code false} otherwise
      */
     public static boolean isInstitutionProvider() {
-        return Optional.ofNullable(getInstitution())
-                .map(InstitutionInfo::getActivityType)
-                .map(type -> type == ActivityType.PROVIDER || type == ActivityType.BOTH)
-                .orElse(false);
+        return getContext().isInstitutionProvider();
     }
 
     /**
@@ -291,10 +341,7 @@ public final class UserContextHolder {
      * @return {@code true} if the institution is a requester; {@code false} otherwise
      */
     public static boolean isInstitutionRequester() {
-        return Optional.ofNullable(getInstitution())
-                .map(InstitutionInfo::getActivityType)
-                .map(ActivityType.REQUESTER::equals)
-                .orElse(false);
+        return getContext().isInstitutionRequester();
     }
 
     /**
@@ -306,10 +353,7 @@ public final class UserContextHolder {
      * @return {@code true} if the activity type is {@code BOTH}; {@code false} otherwise
      */
     public static boolean areInstitutionProviderAndRequester() {
-        return Optional.ofNullable(getInstitution())
-                .map(InstitutionInfo::getActivityType)
-                .map(ActivityType.BOTH::equals)
-                .orElse(false);
+        return getContext().areInstitutionProviderAndRequester();
     }
 
     /**
@@ -318,9 +362,7 @@ public final class UserContextHolder {
      * @return the institution path as a string, or {@code null} if unavailable
      */
     public static String getStructurePath() {
-        return Optional.ofNullable(getInstitution())
-                .map(InstitutionInfo::path)
-                .orElse(null);
+        return getContext().getStructurePath();
     }
 
     /**
@@ -329,9 +371,7 @@ public final class UserContextHolder {
      * @return the {@link DirectorateInfo} object, or {@code null} if unavailable
      */
     public static DirectorateInfo getDirectorateInfo() {
-        return Optional.ofNullable(getInstitution())
-                .map(InstitutionInfo::directorateInfo)
-                .orElse(null);
+        return getContext().getDirectorate();
     }
 
     /**
@@ -340,9 +380,7 @@ public final class UserContextHolder {
      * @return the directorate ID, or {@code null} if unavailable
      */
     public static Long getDirectorateId() {
-        return Optional.ofNullable(getDirectorateInfo())
-                .map(DirectorateInfo::id)
-                .orElse(null);
+        return getContext().getDirectorateId();
     }
 
     /**
@@ -351,9 +389,7 @@ public final class UserContextHolder {
      * @return the directorate name, or {@code null} if unavailable
      */
     public static String getDirectorateName() {
-        return Optional.ofNullable(getDirectorateInfo())
-                .map(DirectorateInfo::name)
-                .orElse(null);
+        return getContext().getDirectorateName();
     }
 
     /**
@@ -362,9 +398,7 @@ public final class UserContextHolder {
      * @return the directorate activity type, or {@code null} if unavailable
      */
     public static String getDirectorateActivityType() {
-        return Optional.ofNullable(getDirectorateInfo())
-                .map(DirectorateInfo::activityType)
-                .orElse(null);
+        return getContext().getDirectorateActivityType();
     }
 
     /**
@@ -377,10 +411,7 @@ public final class UserContextHolder {
      * @return {@code true} if the directorate is a provider, {@code false} otherwise
      */
     public static boolean isDirectorateProvider() {
-        return Optional.ofNullable(getDirectorateInfo())
-                .map(DirectorateInfo::activityType)
-                .map(type -> ActivityType.PROVIDER.name().equals(type))
-                .orElse(false);
+        return getContext().isDirectorateProvider();
     }
 
     /**
@@ -393,10 +424,7 @@ public final class UserContextHolder {
      * @return {@code true} if the directorate is a requester, {@code false} otherwise
      */
     public static boolean isDirectorateRequester() {
-        return Optional.ofNullable(getDirectorateInfo())
-                .map(DirectorateInfo::activityType)
-                .map(ActivityType.REQUESTER.name()::equals)
-                .orElse(false);
+        return getContext().isDirectorateRequester();
     }
 
     /**
@@ -405,7 +433,11 @@ public final class UserContextHolder {
      * @return true if authenticated, false otherwise
      */
     public static boolean isAuthenticated() {
-        return getCurrentUser().isPresent();
+        return getContext().isAuthenticated();
+    }
+
+    private record ResolvedContext(Authentication authentication, UserContext context) {
+
     }
 
 }
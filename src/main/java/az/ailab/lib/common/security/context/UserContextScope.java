@@ -0,0 +1,137 @@
+package az.ailab.lib.common.security.context;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Scoped carrier that makes a {@link UserContext} visible to tasks forked from a request.
+ * <p>
+ * {@link org.springframework.security.core.context.SecurityContextHolder} is thread-bound, so every task
+ * handed to another (virtual) thread would otherwise need a copy of the whole security context.
+ * This carrier binds only the immutable {@link UserContext} snapshot for the duration of a task and
+ * restores the previous binding afterwards, mirroring {@code ScopedValue.where(...).run(...)} on Java 17.
+ * {@link UserContextHolder} consults the carrier before the security context, so all its getters work
+ * unchanged inside a bound task.</p>
+ * <pre>
+ * Executor executor = UserContextScope.propagating(Executors.newFixedThreadPool(16));
+ * CompletableFuture.supplyAsync(UserContextScope.wrap(() -&gt; service.load(id)), executor);
+ * </pre>
+ *
+ * @since 1.2
+ */
+public final class UserContextScope {
+
+    private static final ThreadLocal<UserContext> CURRENT = new ThreadLocal<>();
+
+    private UserContextScope() {
+        // Utility class, no instantiation
+    }
+
+    /**
+     * Returns the context bound to the current thread.
+     *
+     * @return the bound {@link UserContext}, or {@code null} if the thread is not running a bound task
+     */
+    public static UserContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs a task with the given context bound, restoring the previous binding afterwards.
+     *
+     * @param context the context to bind
+     * @param task    the task to run
+     */
+    public static void runWhere(final UserContext context, final Runnable task) {
+        final UserContext previous = CURRENT.get();
+        CURRENT.set(context);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Calls a task with the given context bound, restoring the previous binding afterwards.
+     *
+     * @param context the context to bind
+     * @param task    the task to call
+     * @param <T>     the result type
+     * @return the task's result
+     * @throws Exception if the task fails
+     */
+    public static <T> T callWhere(final UserContext context, final Callable<T> task) throws Exception {
+        final UserContext previous = CURRENT.get();
+        CURRENT.set(context);
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Captures the current user's context and returns a task that runs with it bound.
+     *
+     * @param task the task to wrap
+     * @return the context-propagating task
+     */
+    public static Runnable wrap(final Runnable task) {
+        final UserContext context = UserContextHolder.getContext();
+        return () -> runWhere(context, task);
+    }
+
+    /**
+     * Captures the current user's context and returns a task that calls the given one with it bound.
+     *
+     * @param task the task to wrap
+     * @param <T>  the result type
+     * @return the context-propagating task
+     */
+    public static <T> Callable<T> wrap(final Callable<T> task) {
+        final UserContext context = UserContextHolder.getContext();
+        return () -> callWhere(context, task);
+    }
+
+    /**
+     * Captures the current user's context and returns a supplier that runs with it bound,
+     * e.g. for {@link java.util.concurrent.CompletableFuture#supplyAsync(Supplier, Executor)}.
+     *
+     * @param supplier the supplier to wrap
+     * @param <T>      the result type
+     * @return the context-propagating supplier
+     */
+    public static <T> Supplier<T> wrap(final Supplier<T> supplier) {
+        final UserContext context = UserContextHolder.getContext();
+        return () -> {
+            final UserContext previous = CURRENT.get();
+            CURRENT.set(context);
+            try {
+                return supplier.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Decorates an executor so that every submitted task sees the submitting thread's user context.
+     *
+     * @param delegate the executor running the tasks
+     * @return the context-propagating executor
+     */
+    public static Executor propagating(final Executor delegate) {
+        return task -> delegate.execute(wrap(task));
+    }
+
+    private static void restore(final UserContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+}
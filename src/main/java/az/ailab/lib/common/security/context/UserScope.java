@@ -0,0 +1,28 @@
+package az.ailab.lib.common.security.context;
+
+import az.ailab.lib.common.security.model.vo.StructurePath;
+
+/**
+ * The identifiers that permission checks compare against, read together from the {@link UserContext}.
+ *
+ * @param userId        the user's ID
+ * @param directorateId the ID of the user's directorate
+ * @param institutionId the ID of the user's institution
+ * @param structurePath the user's structure path
+ * @param path          the user's structure path, parsed for segment-wise comparison
+ * @since 1.2
+ */
+public record UserScope(Long userId,
+                        Long directorateId,
+                        Integer institutionId,
+                        String structurePath,
+                        StructurePath path) {
+
+    public UserScope(final Long userId,
+                     final Long directorateId,
+                     final Integer institutionId,
+                     final String structurePath) {
+        this(userId, directorateId, institutionId, structurePath, StructurePath.of(structurePath));
+    }
+
+}
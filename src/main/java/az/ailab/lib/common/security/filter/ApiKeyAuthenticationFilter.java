@@ -0,0 +1,48 @@
+package az.ailab.lib.common.security.filter;
+
+import az.ailab.lib.common.security.constants.SecurityConstant;
+import az.ailab.lib.common.security.verifier.ApiKeyVerifier;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Authenticates calls from other services by their {@code X-Service-Name} and {@code X-Client-Api-Key} headers.
+ * <p>
+ * A valid pair sets a {@link az.ailab.lib.common.security.context.ServiceAuthenticationToken} unless the request
+ * is already authenticated, so a user token forwarded with the call (and resolved by {@link JwtTokenFilter}
+ * before this filter) keeps precedence. Requests without the headers or with a wrong key continue
+ * unauthenticated, as with {@link JwtTokenFilter}.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
+
+    private final ApiKeyVerifier apiKeyVerifier;
+
+    @Override
+    protected void doFilterInternal(@NonNull final HttpServletRequest request,
+                                    @NonNull final HttpServletResponse response,
+                                    @NonNull final FilterChain filterChain) throws ServletException, IOException {
+        final String apiKey = request.getHeader(SecurityConstant.X_Client_API_KEY);
+        if (apiKey != null) {
+            final SecurityContext securityContext = SecurityContextHolder.getContext();
+            if (securityContext.getAuthentication() == null) {
+                final String serviceName = request.getHeader(SecurityConstant.X_SERVICE_NAME);
+                apiKeyVerifier.verify(serviceName, apiKey)
+                        .ifPresentOrElse(securityContext::setAuthentication,
+                                () -> log.debug("Invalid API key received from service '{}'", serviceName));
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+}
@@ -1,7 +1,7 @@
 package az.ailab.lib.common.security.filter;
 
-import az.ailab.lib.common.security.constants.SecurityConstant;
 import az.ailab.lib.common.security.provider.AbstractTokenProvider;
+import az.ailab.lib.common.security.util.SecurityUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,6 +17,16 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+/**
+ * Resolves the bearer token of each request into an {@link Authentication} via {@link AbstractTokenProvider}.
+ * <p>
+ * Signature verification is opt-in: with {@code users.security.verification.enabled=true} (or any
+ * {@link az.ailab.lib.common.security.verifier.TokenVerifier} bean) the provider only authenticates
+ * tokens with a valid signature that have not expired; otherwise the payload is decoded without verification,
+ * as when the token was already verified by the gateway.</p>
+ * <p>The raw token is kept on the authentication's {@link az.ailab.lib.common.security.context.UserContext}, so
+ * outbound Feign calls forward it from any thread the context is propagated to, not only the request thread.</p>
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class JwtTokenFilter extends OncePerRequestFilter {
@@ -37,8 +47,7 @@ public class JwtTokenFilter extends OncePerRequestFilter {
     }
 
     public Optional<Authentication> buildAuthentication(final String jwt) {
-        return tokenProvider.extractPayload(jwt)
-                .map(tokenProvider::buildAuthentication);
+        return tokenProvider.authenticate(jwt);
     }
 
     private String resolveToken(final HttpServletRequest request) {
@@ -48,14 +57,14 @@ public class JwtTokenFilter extends OncePerRequestFilter {
     }
 
     private String extractBearerToken(final String bearerToken) {
-        if (StringUtils.isNotEmpty(bearerToken) && bearerToken.startsWith(SecurityConstant.BEARER)) {
+        final String token = SecurityUtil.extractBearerToken(bearerToken);
+        if (token != null) {
             log.debug("Authorization token is received: {}", bearerToken);
-            return bearerToken.substring(SecurityConstant.BEARER.length());
         } else {
             log.debug("There is not found any token. Request received from anonymous user.");
         }
 
-        return null;
+        return token;
     }
 
 }
\ No newline at end of file
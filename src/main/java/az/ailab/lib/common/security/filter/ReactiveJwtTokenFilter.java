@@ -0,0 +1,58 @@
+package az.ailab.lib.common.security.filter;
+
+import az.ailab.lib.common.security.provider.AbstractTokenProvider;
+import az.ailab.lib.common.security.util.SecurityUtil;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@link JwtTokenFilter}.
+ * <p>
+ * Resolves the bearer token through the same {@link AbstractTokenProvider} (and therefore the same
+ * decoding, verification, caching and principal-building code) and writes the resulting
+ * {@link Authentication} into the Reactor context via {@link ReactiveSecurityContextHolder}, where
+ * {@link az.ailab.lib.common.security.context.ReactiveUserContextHolder} reads it.</p>
+ * <p>
+ * Authentication is purely CPU-bound: payload decoding, an in-memory cache lookup and, when enabled,
+ * signature verification against keys already held in memory. Nothing blocks, so it runs inline on the
+ * event loop.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveJwtTokenFilter implements WebFilter {
+
+    private final AbstractTokenProvider tokenProvider;
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull final ServerWebExchange exchange, @NonNull final WebFilterChain chain) {
+        return Mono.defer(() -> {
+            final String jwt = SecurityUtil.extractBearerToken(
+                    exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+            if (StringUtils.isBlank(jwt)) {
+                log.debug("There is not found any token. Request received from anonymous user.");
+                return chain.filter(exchange);
+            }
+
+            return buildAuthentication(jwt)
+                    .map(authentication -> chain.filter(exchange)
+                            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication)))
+                    .orElseGet(() -> chain.filter(exchange));
+        });
+    }
+
+    public Optional<Authentication> buildAuthentication(final String jwt) {
+        return tokenProvider.authenticate(jwt);
+    }
+
+}
@@ -2,72 +2,160 @@ package az.ailab.lib.common.security.interceptor;
 
 import az.ailab.lib.common.security.config.annotation.ClientAuth;
 import az.ailab.lib.common.security.constants.SecurityConstant;
+import az.ailab.lib.common.security.context.UserContextHolder;
+import az.ailab.lib.common.security.context.UserContextScope;
+import az.ailab.lib.common.security.provider.ServiceTokenProvider;
 import az.ailab.lib.common.security.util.SecurityUtil;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
+import feign.Target;
 import io.micrometer.common.util.StringUtils;
 import java.lang.reflect.Method;
 import java.util.Map;
-import java.util.Optional;
-import lombok.RequiredArgsConstructor;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 
+/**
+ * Adds the service authentication headers configured by {@link ClientAuth} to outbound Feign requests.
+ * <p>The effective annotation, target client name and API key are resolved once per client method and target
+ * and cached, so a request only copies the precomputed header values.</p>
+ * <p>Clients listed in {@code serviceTokenClients} receive a short-lived signed token from the
+ * {@link ServiceTokenProvider} in the {@code X-Service-Token} header instead of their static API key.</p>
+ * <p>The API keys, the service token clients and the resolved headers form one immutable snapshot.
+ * {@link #update(Map, Set)} publishes a new snapshot with an empty header cache in a single volatile write,
+ * so keys can be rotated at runtime while requests keep reading without locks.</p>
+ */
 @Slf4j
-@RequiredArgsConstructor
 public class ClientAuthInterceptor implements RequestInterceptor {
 
     private final String srcServiceName;
-    private final Map<String, String> clientApiKeys;
+    private final ServiceTokenProvider serviceTokenProvider;
+    private volatile Snapshot snapshot;
+
+    public ClientAuthInterceptor(final String srcServiceName, final Map<String, String> clientApiKeys) {
+        this(srcServiceName, clientApiKeys, null, Set.of());
+    }
+
+    public ClientAuthInterceptor(final String srcServiceName,
+                                 final Map<String, String> clientApiKeys,
+                                 final ServiceTokenProvider serviceTokenProvider,
+                                 final Set<String> serviceTokenClients) {
+        this.srcServiceName = srcServiceName;
+        this.serviceTokenProvider = serviceTokenProvider;
+        this.snapshot = new Snapshot(clientApiKeys, serviceTokenProvider != null ? Set.copyOf(serviceTokenClients) : Set.of());
+    }
+
+    /**
+     * Replaces the API keys and service token clients; headers are resolved again on the next request of each method.
+     *
+     * @param clientApiKeys       the API keys by target client name
+     * @param serviceTokenClients the clients that receive a service token instead of an API key
+     */
+    public void update(final Map<String, String> clientApiKeys, final Set<String> serviceTokenClients) {
+        final Snapshot current = snapshot;
+        final Set<String> tokenClients = serviceTokenProvider != null ? Set.copyOf(serviceTokenClients) : Set.of();
+        if (!current.clientApiKeys().equals(clientApiKeys) || !current.serviceTokenClients().equals(tokenClients)) {
+            snapshot = new Snapshot(Map.copyOf(clientApiKeys), tokenClients);
+        }
+    }
 
     @Override
     public void apply(final RequestTemplate template) {
-        final Optional<ClientAuth> authAnnotation = getEffectiveAuthAnnotation(template);
+        final Method method = template.methodMetadata().method();
+        final Target<?> target = template.feignTarget();
+        final Snapshot current = snapshot;
+        final ClientAuthHeaders headers = current.headers().computeIfAbsent(new CacheKey(method, target),
+                key -> resolveHeaders(current, key.method(), key.target()));
 
-        if (authAnnotation.isEmpty() || !authAnnotation.get().enabled()) {
-            return;
+        if (headers.serviceTokenClient() != null) {
+            template.header(SecurityConstant.X_SERVICE_NAME, srcServiceName);
+            template.header(SecurityConstant.X_SERVICE_TOKEN, serviceTokenProvider.getToken(headers.serviceTokenClient()));
+        } else if (headers.apiKey() != null) {
+            template.header(SecurityConstant.X_SERVICE_NAME, srcServiceName);
+            template.header(SecurityConstant.X_Client_API_KEY, headers.apiKey());
         }
 
-        final ClientAuth auth = authAnnotation.get();
+        if (headers.forwardAuthorizationHeader()) {
+            forwardAuthorizationHeader(template);
+        }
+    }
 
-        final String targetClientName = getTargetClientName(template, auth);
+    /**
+     * Prefers the token kept on the user's context, which is also visible on threads the context was propagated
+     * to with {@link UserContextScope}; falls back to the current servlet request's header.
+     */
+    private void forwardAuthorizationHeader(final RequestTemplate template) {
+        final String authorizationHeader = UserContextHolder.getContext().getAuthorizationHeader();
+        if (authorizationHeader != null) {
+            template.header(HttpHeaders.AUTHORIZATION, authorizationHeader);
+        } else {
+            SecurityUtil.getAuthorizationHeaderOpt()
+                    .ifPresent(bearerToken -> template.header(HttpHeaders.AUTHORIZATION, bearerToken));
+        }
+    }
 
-        addApiKeyToHeader(template, targetClientName);
+    private ClientAuthHeaders resolveHeaders(final Snapshot current, final Method method, final Target<?> target) {
+        final ClientAuth auth = getEffectiveAuthAnnotation(method);
 
-        forwardAuthorizationHeader(template, auth);
-    }
+        if (auth == null || !auth.enabled()) {
+            return ClientAuthHeaders.NONE;
+        }
 
-    private Optional<ClientAuth> getEffectiveAuthAnnotation(final RequestTemplate template) {
-        final Method method = template.methodMetadata().method();
-        final Class<?> declaringClass = method.getDeclaringClass();
+        final String targetClientName = getTargetClientName(target, auth);
+        if (current.serviceTokenClients().contains(targetClientName)) {
+            return new ClientAuthHeaders(null, targetClientName, auth.forwardAuthorizationHeader());
+        }
 
-        final ClientAuth methodAuth = method.getAnnotation(ClientAuth.class);
-        final ClientAuth classAuth = declaringClass.getAnnotation(ClientAuth.class);
+        final String apiKey = current.clientApiKeys().get(targetClientName);
+        if (apiKey == null) {
+            log.warn("API key not found for client '{}'. Please check your configuration for clients.security.api-keys.{}",
+                    targetClientName, targetClientName);
+        }
 
-        return Optional.ofNullable(methodAuth != null ? methodAuth : classAuth);
+        return new ClientAuthHeaders(apiKey, null, auth.forwardAuthorizationHeader());
     }
 
-    private String getTargetClientName(final RequestTemplate template, final ClientAuth auth) {
+    private ClientAuth getEffectiveAuthAnnotation(final Method method) {
+        final ClientAuth methodAuth = method.getAnnotation(ClientAuth.class);
+        return methodAuth != null ? methodAuth : method.getDeclaringClass().getAnnotation(ClientAuth.class);
+    }
+
+    private String getTargetClientName(final Target<?> target, final ClientAuth auth) {
         final String clientName = auth.clientName();
-        return StringUtils.isNotBlank(clientName) ? clientName : template.feignTarget().name();
+        return StringUtils.isNotBlank(clientName) ? clientName : target.name();
     }
 
-    private void addApiKeyToHeader(final RequestTemplate template, final String targetClientName) {
-        final String apiKey = clientApiKeys.get(targetClientName);
-        if (apiKey != null) {
-            template.header(SecurityConstant.X_SERVICE_NAME, srcServiceName);
-            template.header(SecurityConstant.X_Client_API_KEY, apiKey);
-        } else {
-            log.warn("API key not found for client '{}'. Please check your configuration for clients.security.api-keys.{}",
-                    targetClientName, targetClientName);
+    /**
+     * Configured values and the headers resolved from them; replaced as a whole when the values change.
+     */
+    private record Snapshot(Map<String, String> clientApiKeys,
+                            Set<String> serviceTokenClients,
+                            ConcurrentMap<CacheKey, ClientAuthHeaders> headers) {
+
+        Snapshot(final Map<String, String> clientApiKeys, final Set<String> serviceTokenClients) {
+            this(clientApiKeys, serviceTokenClients, new ConcurrentHashMap<>());
         }
+
     }
 
-    private void forwardAuthorizationHeader(final RequestTemplate template, final ClientAuth auth) {
-        if (auth.forwardAuthorizationHeader()) {
-            SecurityUtil.getAuthorizationHeaderOpt()
-                    .ifPresent(bearerToken -> template.header(HttpHeaders.AUTHORIZATION, bearerToken));
-        }
+    /**
+     * The same client interface may be bound to several targets, each with its own default client name.
+     */
+    private record CacheKey(Method method, Target<?> target) {
+
+    }
+
+    /**
+     * Header values resolved for one client method; without an API key or service token client
+     * no service headers are added.
+     */
+    private record ClientAuthHeaders(String apiKey, String serviceTokenClient, boolean forwardAuthorizationHeader) {
+
+        private static final ClientAuthHeaders NONE = new ClientAuthHeaders(null, null, false);
+
     }
 
-}
\ No newline at end of file
+}
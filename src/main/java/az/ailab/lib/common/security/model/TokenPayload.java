@@ -1,7 +1,10 @@
 package az.ailab.lib.common.security.model;
 
 import az.ailab.lib.common.security.constants.TokenField;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.Data;
@@ -12,7 +15,8 @@ import lombok.Data;
  * This value object provides typed access to standard JWT claims (subject, issuedAt, exp)
  * as well as nested user, role, institution, and directorate details as defined in the
  * token's JSON structure. Use {@link #fromJsonNode(JsonNode)} to parse a payload tree into
- * an instance of this class. </p>
+ * an instance of this class, or {@link #fromJsonParser(JsonParser)} to fill it in a single forward
+ * pass over the payload without materialising a tree. </p>
  * <p>
  * Required fields are validated during parsing. Optional fields may be null.
  *
@@ -55,7 +59,7 @@ public class TokenPayload {
     private String directorateName;
     private String directorateActivityType;
 
-    // Raw JSON node for advanced or custom parsing needs
+    // Raw JSON node for advanced or custom parsing needs (only set by fromJsonNode)
     private JsonNode payloadNode;
 
     /**
@@ -79,6 +83,160 @@ public class TokenPayload {
         return payload;
     }
 
+    /**
+     * Factory method to create a {@link TokenPayload} by streaming over a JWT payload.
+     * <p>
+     * Reads the payload in one forward pass, descending into the nested user, role, institution
+     * and directorate objects as they appear, and skips unknown fields without building a tree.
+     * Applies the same required-field validation as {@link #fromJsonNode(JsonNode)};
+     * {@link #getPayloadNode()} is left {@code null}.
+     * </p>
+     *
+     * @param parser a parser positioned before (or at) the root object of the JWT payload
+     * @return a populated {@link TokenPayload} instance
+     * @throws IOException              if the payload is not well-formed JSON
+     * @throws IllegalArgumentException if required fields are missing or invalid
+     */
+    public static TokenPayload fromJsonParser(final JsonParser parser) throws IOException {
+        final TokenPayload payload = new TokenPayload();
+
+        if (parser.currentToken() == null) {
+            parser.nextToken();
+        }
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case TokenField.SUB -> payload.subject = readText(parser);
+                    case TokenField.IAT -> payload.issuedAt = readLong(parser);
+                    case TokenField.EXP -> payload.expirationTime = readLong(parser);
+                    case TokenField.USER -> readUser(parser, payload);
+                    case TokenField.INSTITUTION -> readInstitution(parser, payload);
+                    default -> parser.skipChildren();
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+
+        validateRequiredFields(payload);
+        return payload;
+    }
+
+    /**
+     * Streams the fields of the "user" object, delegating the nested role object.
+     *
+     * @param parser  a parser positioned at the value of the "user" key
+     * @param payload the target payload object to populate
+     */
+    private static void readUser(final JsonParser parser, final TokenPayload payload) throws IOException {
+        if (!isObjectStart(parser)) {
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case TokenField.ID -> payload.userId = readLong(parser);
+                case TokenField.FIRST_NAME -> payload.firstName = readText(parser);
+                case TokenField.LAST_NAME -> payload.lastName = readText(parser);
+                case TokenField.EMAIL -> payload.email = readText(parser);
+                case TokenField.TYPE -> payload.userType = readText(parser);
+                case TokenField.RANK -> payload.rank = readText(parser);
+                case TokenField.POSITION -> payload.position = readText(parser);
+                case TokenField.STRUCTURE_ID -> payload.structureId = readLong(parser);
+                case TokenField.ROLE -> readRole(parser, payload);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Streams the fields of the "role" object including its permission map.
+     *
+     * @param parser  a parser positioned at the value of the "role" key
+     * @param payload the target payload object to populate
+     */
+    private static void readRole(final JsonParser parser, final TokenPayload payload) throws IOException {
+        if (!isObjectStart(parser)) {
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case TokenField.ID -> payload.roleId = readLong(parser);
+                case TokenField.NAME -> payload.roleName = readText(parser);
+                case TokenField.TYPE -> payload.roleType = readText(parser);
+                case TokenField.PERMISSIONS -> payload.permissions = readTextMap(parser);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Streams the fields of the "institution" object, delegating the nested directorate object.
+     *
+     * @param parser  a parser positioned at the value of the "institution" key
+     * @param payload the target payload object to populate
+     */
+    private static void readInstitution(final JsonParser parser, final TokenPayload payload) throws IOException {
+        if (!isObjectStart(parser)) {
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case TokenField.ID -> payload.institutionId = readInt(parser);
+                case TokenField.NAME -> payload.institutionName = readText(parser);
+                case TokenField.ACTIVITY_TYPE -> payload.institutionActivityType = readText(parser);
+                case TokenField.RANK_TYPE -> payload.institutionRankType = readText(parser);
+                case TokenField.PATH -> payload.structurePath = readText(parser);
+                case TokenField.DIRECTORATE -> readDirectorate(parser, payload);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Streams the fields of the optional "directorate" object.
+     *
+     * @param parser  a parser positioned at the value of the "directorate" key
+     * @param payload the target payload object to populate
+     */
+    private static void readDirectorate(final JsonParser parser, final TokenPayload payload) throws IOException {
+        if (!isObjectStart(parser)) {
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case TokenField.ID -> payload.directorateId = readLong(parser);
+                case TokenField.NAME -> payload.directorateName = readText(parser);
+                case TokenField.ACTIVITY_TYPE -> payload.directorateActivityType = readText(parser);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Validates the fields that {@link #fromJsonNode(JsonNode)} treats as required, in the same order.
+     *
+     * @param payload the streamed payload
+     */
+    private static void validateRequiredFields(final TokenPayload payload) {
+        requireText(payload.subject, TokenField.SUB);
+        requireLong(payload.issuedAt, TokenField.IAT);
+        requireLong(payload.expirationTime, TokenField.EXP);
+        requireText(payload.userType, TokenField.TYPE);
+        requireLong(payload.roleId, TokenField.ID);
+        requireText(payload.roleName, TokenField.NAME);
+        requireText(payload.roleType, TokenField.TYPE);
+    }
+
     /**
      * Extracts the standard JWT claims: subject (sub), issuedAt (iat), and expirationTime (exp).
      *
@@ -197,4 +355,75 @@ public class TokenPayload {
         return (valueNode.isMissingNode() || valueNode.isNull()) ? null : valueNode.asInt();
     }
 
+    // --- Helper methods for streaming extraction (mirror JsonNode#asText/asLong/asInt) ---
+    private static boolean isObjectStart(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            return true;
+        }
+        parser.skipChildren();
+        return false;
+    }
+
+    private static String readText(JsonParser parser) throws IOException {
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return "";
+        }
+        return parser.getValueAsString();
+    }
+
+    private static Long readLong(JsonParser parser) throws IOException {
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return 0L;
+        }
+        return parser.getValueAsLong();
+    }
+
+    private static Integer readInt(JsonParser parser) throws IOException {
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return 0;
+        }
+        return parser.getValueAsInt();
+    }
+
+    private static Map<String, String> readTextMap(JsonParser parser) throws IOException {
+        final Map<String, String> map = new HashMap<>();
+        if (!isObjectStart(parser)) {
+            return map;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String key = parser.currentName();
+            parser.nextToken();
+            final String value = readText(parser);
+            map.put(key, value != null ? value : "null");
+        }
+        return map;
+    }
+
+    private static void requireText(String value, String field) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing or null required field: " + field);
+        }
+    }
+
+    private static void requireLong(Long value, String field) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing or null required long field: " + field);
+        }
+    }
+
 }
\ No newline at end of file
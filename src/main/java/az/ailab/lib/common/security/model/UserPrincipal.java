@@ -1,13 +1,14 @@
 package az.ailab.lib.common.security.model;
 
+import az.ailab.lib.common.security.model.enums.EnumLookup;
 import az.ailab.lib.common.security.model.enums.PermissionEnum;
 import az.ailab.lib.common.security.model.enums.PermissionLevel;
 import az.ailab.lib.common.security.model.enums.RoleType;
 import az.ailab.lib.common.security.model.enums.UserType;
 import az.ailab.lib.common.security.model.vo.DirectorateInfo;
 import az.ailab.lib.common.security.model.vo.InstitutionInfo;
+import az.ailab.lib.common.security.model.vo.PermissionMatrix;
 import az.ailab.lib.common.security.model.vo.UserRole;
-import az.ailab.lib.common.util.EnumUtil;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
@@ -68,6 +69,21 @@ public record UserPrincipal(
      * @throws IllegalArgumentException if any enum conversion fails due to invalid values
      */
     public static UserPrincipal of(final TokenPayload payload, final List<GrantedAuthority> authorities) {
+        return of(payload, resolveUserRole(payload), authorities);
+    }
+
+    /**
+     * Factory method to build a UserPrincipal around an already resolved, possibly shared, {@link UserRole}.
+     *
+     * @param payload     the parsed JWT payload containing all user and context claims
+     * @param role        the resolved role and permissions
+     * @param authorities the granted authorities derived from role and permission claims
+     * @return a fully populated {@link UserPrincipal} instance
+     * @throws IllegalArgumentException if any enum conversion fails due to invalid values
+     */
+    public static UserPrincipal of(final TokenPayload payload,
+                                   final UserRole role,
+                                   final List<GrantedAuthority> authorities) {
         return new UserPrincipal(
                 payload.getUserId(),
                 payload.getFirstName(),
@@ -78,20 +94,30 @@ public record UserPrincipal(
                 payload.getRank(),
                 payload.getPosition(),
                 payload.getStructureId(),
-                resolveUserRole(payload),
+                role,
                 authorities,
                 resolveUserInstitution(payload),
                 payload
         );
     }
 
+    /**
+     * Returns the packed permissions of the user's role.
+     *
+     * @return the role's {@link PermissionMatrix}, or {@link PermissionMatrix#EMPTY} if the user has no role
+     */
+    public PermissionMatrix permissionMatrix() {
+        return role != null ? role.permissionMatrix() : PermissionMatrix.EMPTY;
+    }
+
     /**
      * Resolves the user's role type and maps permissions to their levels.
      *
      * @param payload the token payload containing raw role and permissions data
      * @return a {@link UserRole} value object
+     * @throws IllegalArgumentException if the role type or any permission is invalid
      */
-    private static UserRole resolveUserRole(final TokenPayload payload) {
+    public static UserRole resolveUserRole(final TokenPayload payload) {
         final RoleType roleType = resolveRoleType(payload.getRoleType());
         final Map<PermissionEnum, PermissionLevel> permissionsMap = resolvePermissions(payload.getPermissions());
         return new UserRole(
@@ -112,11 +138,7 @@ public record UserPrincipal(
     private static Map<PermissionEnum, PermissionLevel> resolvePermissions(final Map<String, String> permissions) {
         final Map<PermissionEnum, PermissionLevel> permissionsMap = new EnumMap<>(PermissionEnum.class);
         permissions.forEach((key, value) -> {
-            final PermissionEnum permissionEnum = EnumUtil.getOptEnumConstant(PermissionEnum.class, key)
-                    .orElseThrow(() -> new IllegalArgumentException("Invalid permission: " + key));
-            final PermissionLevel level = EnumUtil.getOptEnumConstant(PermissionLevel.class, value)
-                    .orElseThrow(() -> new IllegalArgumentException("Invalid permission level: " + value));
-            permissionsMap.put(permissionEnum, level);
+            permissionsMap.put(EnumLookup.PERMISSION.get(key), EnumLookup.PERMISSION_LEVEL.get(value));
         });
         return permissionsMap;
     }
@@ -129,8 +151,7 @@ public record UserPrincipal(
      * @throws IllegalArgumentException if the role type is invalid
      */
     private static RoleType resolveRoleType(final String roleType) {
-        return EnumUtil.getOptEnumConstant(RoleType.class, roleType)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid role type: " + roleType));
+        return EnumLookup.ROLE_TYPE.get(roleType);
     }
 
     /**
@@ -141,8 +162,7 @@ public record UserPrincipal(
      * @throws IllegalArgumentException if the user type is invalid
      */
     private static UserType resolveUserType(String userType) {
-        return EnumUtil.getOptEnumConstant(UserType.class, userType)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid role type: " + userType));
+        return EnumLookup.USER_TYPE.get(userType);
     }
 
     /**
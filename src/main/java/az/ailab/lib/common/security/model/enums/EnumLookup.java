@@ -0,0 +1,80 @@
+package az.ailab.lib.common.security.model.enums;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Precomputed, immutable name-to-constant table for a security enum.
+ * <p>
+ * Token claims are resolved to enums on every authentication; a table built once per enum turns
+ * that into a single hash lookup without {@code Optional} wrapping or exception-based fallbacks.
+ * Matching is exact first and then case-insensitive, so {@code "military"} resolves to
+ * {@link RankType#MILITARY}; only non-canonical input pays for the upper-casing.</p>
+ *
+ * @param <E> the enum type
+ * @since 1.2
+ */
+public final class EnumLookup<E extends Enum<E>> {
+
+    public static final EnumLookup<PermissionEnum> PERMISSION = of(PermissionEnum.class, "permission");
+    public static final EnumLookup<PermissionLevel> PERMISSION_LEVEL = of(PermissionLevel.class, "permission level");
+    public static final EnumLookup<RoleType> ROLE_TYPE = of(RoleType.class, "role type");
+    public static final EnumLookup<UserType> USER_TYPE = of(UserType.class, "user type");
+    public static final EnumLookup<ActivityType> ACTIVITY_TYPE = of(ActivityType.class, "activity type");
+    public static final EnumLookup<RankType> RANK_TYPE = of(RankType.class, "rank type");
+
+    private final Map<String, E> constants;
+    private final String description;
+
+    private EnumLookup(final Map<String, E> constants, final String description) {
+        this.constants = constants;
+        this.description = description;
+    }
+
+    /**
+     * Builds the lookup table for an enum.
+     *
+     * @param enumType    the enum class
+     * @param description a human-readable name used in error messages, e.g. {@code "role type"}
+     * @param <E>         the enum type
+     * @return the lookup table
+     */
+    public static <E extends Enum<E>> EnumLookup<E> of(final Class<E> enumType, final String description) {
+        final Map<String, E> constants = new HashMap<>();
+        for (E constant : enumType.getEnumConstants()) {
+            constants.put(constant.name(), constant);
+        }
+        return new EnumLookup<>(Map.copyOf(constants), description);
+    }
+
+    /**
+     * Resolves a constant by name.
+     *
+     * @param value the constant name, matched case-insensitively; may be {@code null}
+     * @return the constant, or {@code null} if {@code value} is {@code null} or unknown
+     */
+    public E find(final String value) {
+        if (value == null) {
+            return null;
+        }
+        final E constant = constants.get(value);
+        return constant != null ? constant : constants.get(value.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Resolves a constant by name, failing on unknown values.
+     *
+     * @param value the constant name, matched case-insensitively
+     * @return the constant
+     * @throws IllegalArgumentException if {@code value} is {@code null} or unknown
+     */
+    public E get(final String value) {
+        final E constant = find(value);
+        if (constant == null) {
+            throw new IllegalArgumentException("Invalid " + description + ": " + value);
+        }
+        return constant;
+    }
+
+}
@@ -1,15 +1,14 @@
 package az.ailab.lib.common.security.model.vo;
 
 import az.ailab.lib.common.security.model.enums.ActivityType;
-import az.ailab.lib.common.util.EnumUtil;
+import az.ailab.lib.common.security.model.enums.EnumLookup;
 
 public interface ActivityTypeAware {
 
     String activityType();
 
     default ActivityType getActivityType() {
-        return EnumUtil.getOptEnumConstant(ActivityType.class, activityType())
-                .orElseThrow(() -> new IllegalArgumentException("Invalid activity type: " + activityType()));
+        return EnumLookup.ACTIVITY_TYPE.get(activityType());
     }
 
 }
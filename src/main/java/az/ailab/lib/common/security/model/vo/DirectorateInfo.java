@@ -1,7 +1,27 @@
 package az.ailab.lib.common.security.model.vo;
 
+import az.ailab.lib.common.security.model.enums.ActivityType;
+import az.ailab.lib.common.security.model.enums.EnumLookup;
+
+/**
+ * Directorate of the authenticated user.
+ * <p>The activity type is resolved once on construction; {@link #getActivityType()} only validates it.</p>
+ */
 public record DirectorateInfo(Long id,
                               String name,
-                              String activityType) implements ActivityTypeAware {
+                              String activityType,
+                              ActivityType resolvedActivityType) implements ActivityTypeAware {
+
+    public DirectorateInfo(final Long id, final String name, final String activityType) {
+        this(id, name, activityType, EnumLookup.ACTIVITY_TYPE.find(activityType));
+    }
+
+    @Override
+    public ActivityType getActivityType() {
+        if (resolvedActivityType == null) {
+            throw new IllegalArgumentException("Invalid activity type: " + activityType);
+        }
+        return resolvedActivityType;
+    }
 
 }
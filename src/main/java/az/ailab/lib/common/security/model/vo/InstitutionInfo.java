@@ -1,18 +1,47 @@
 package az.ailab.lib.common.security.model.vo;
 
+import az.ailab.lib.common.security.model.enums.ActivityType;
+import az.ailab.lib.common.security.model.enums.EnumLookup;
 import az.ailab.lib.common.security.model.enums.RankType;
-import az.ailab.lib.common.util.EnumUtil;
 
+/**
+ * Institution of the authenticated user.
+ * <p>Activity and rank types are resolved once on construction; the getters only validate them.
+ * The structure path is parsed once into {@link #resolvedPath()}.</p>
+ */
 public record InstitutionInfo(Integer id,
                               String name,
                               String activityType,
                               String rankType,
                               String path,
-                              DirectorateInfo directorateInfo) implements ActivityTypeAware {
+                              DirectorateInfo directorateInfo,
+                              ActivityType resolvedActivityType,
+                              RankType resolvedRankType,
+                              StructurePath resolvedPath) implements ActivityTypeAware {
+
+    public InstitutionInfo(final Integer id,
+                           final String name,
+                           final String activityType,
+                           final String rankType,
+                           final String path,
+                           final DirectorateInfo directorateInfo) {
+        this(id, name, activityType, rankType, path, directorateInfo,
+                EnumLookup.ACTIVITY_TYPE.find(activityType), EnumLookup.RANK_TYPE.find(rankType), StructurePath.of(path));
+    }
+
+    @Override
+    public ActivityType getActivityType() {
+        if (resolvedActivityType == null) {
+            throw new IllegalArgumentException("Invalid activity type: " + activityType);
+        }
+        return resolvedActivityType;
+    }
 
     public RankType getRankType() {
-        return EnumUtil.getOptEnumConstant(RankType.class, rankType())
-                .orElseThrow(() -> new IllegalArgumentException("Invalid rank type: " + rankType()));
+        if (resolvedRankType == null) {
+            throw new IllegalArgumentException("Invalid rank type: " + rankType);
+        }
+        return resolvedRankType;
     }
 
 }
@@ -0,0 +1,149 @@
+package az.ailab.lib.common.security.model.vo;
+
+import az.ailab.lib.common.security.model.enums.PermissionEnum;
+import az.ailab.lib.common.security.model.enums.PermissionLevel;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Compact, immutable mapping of {@link PermissionEnum} to {@link PermissionLevel}.
+ * <p>
+ * Each permission occupies {@value #BITS_PER_PERMISSION} bits of a {@code long[]} at its ordinal:
+ * {@code 0} means the permission is not granted, otherwise the value is the level ordinal plus one.
+ * The whole permission set of a role fits in two longs, and {@link #levelOf(PermissionEnum)} and
+ * {@link #hasAtLeast(PermissionEnum, PermissionLevel)} are a shift and a mask with no allocation.</p>
+ * <p>Levels are ordered from {@link PermissionLevel#PERSONAL} (narrowest) to {@link PermissionLevel#SYSTEM} (widest).</p>
+ *
+ * @since 1.2
+ */
+public final class PermissionMatrix {
+
+    private static final int BITS_PER_PERMISSION = 3;
+    private static final int PERMISSIONS_PER_WORD = Long.SIZE / BITS_PER_PERMISSION;
+    private static final long MASK = (1L << BITS_PER_PERMISSION) - 1;
+    private static final PermissionEnum[] PERMISSIONS = PermissionEnum.values();
+    private static final PermissionLevel[] LEVELS = PermissionLevel.values();
+    private static final int WORDS = (PERMISSIONS.length + PERMISSIONS_PER_WORD - 1) / PERMISSIONS_PER_WORD;
+
+    /**
+     * A matrix without any granted permission.
+     */
+    public static final PermissionMatrix EMPTY = new PermissionMatrix(new long[WORDS]);
+
+    private final long[] words;
+
+    private PermissionMatrix(final long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Packs the given permission map.
+     *
+     * @param permissions the permissions and their levels, may be {@code null}
+     * @return the packed matrix, or {@link #EMPTY} if no permission is granted
+     */
+    public static PermissionMatrix of(final Map<PermissionEnum, PermissionLevel> permissions) {
+        if (permissions == null || permissions.isEmpty()) {
+            return EMPTY;
+        }
+        final long[] words = new long[WORDS];
+        permissions.forEach((permission, level) -> {
+            if (permission != null && level != null) {
+                final int ordinal = permission.ordinal();
+                words[ordinal / PERMISSIONS_PER_WORD] |=
+                        (long) (level.ordinal() + 1) << shift(ordinal);
+            }
+        });
+        return new PermissionMatrix(words);
+    }
+
+    /**
+     * Returns the granted level for a permission.
+     *
+     * @param permission the permission to look up
+     * @return the granted {@link PermissionLevel}, or {@code null} if the permission is not granted
+     */
+    public PermissionLevel levelOf(final PermissionEnum permission) {
+        final int value = valueOf(permission);
+        return value == 0 ? null : LEVELS[value - 1];
+    }
+
+    /**
+     * Checks whether a permission is granted at any level.
+     *
+     * @param permission the permission to check
+     * @return {@code true} if the permission is granted
+     */
+    public boolean has(final PermissionEnum permission) {
+        return valueOf(permission) != 0;
+    }
+
+    /**
+     * Checks whether a permission is granted at the given level or a wider one.
+     *
+     * @param permission the permission to check
+     * @param level      the minimum required level
+     * @return {@code true} if the granted level is at least {@code level}
+     */
+    public boolean hasAtLeast(final PermissionEnum permission, final PermissionLevel level) {
+        return valueOf(permission) > level.ordinal();
+    }
+
+    /**
+     * Returns the number of granted permissions.
+     *
+     * @return the number of granted permissions
+     */
+    public int size() {
+        int size = 0;
+        for (PermissionEnum permission : PERMISSIONS) {
+            if (has(permission)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Expands the matrix into an unmodifiable map.
+     *
+     * @return the permissions and their levels
+     */
+    public Map<PermissionEnum, PermissionLevel> toMap() {
+        final Map<PermissionEnum, PermissionLevel> map = new EnumMap<>(PermissionEnum.class);
+        for (PermissionEnum permission : PERMISSIONS) {
+            final PermissionLevel level = levelOf(permission);
+            if (level != null) {
+                map.put(permission, level);
+            }
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private int valueOf(final PermissionEnum permission) {
+        final int ordinal = permission.ordinal();
+        return (int) ((words[ordinal / PERMISSIONS_PER_WORD] >>> shift(ordinal)) & MASK);
+    }
+
+    private static int shift(final int ordinal) {
+        return (ordinal % PERMISSIONS_PER_WORD) * BITS_PER_PERMISSION;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other || other instanceof PermissionMatrix matrix && Arrays.equals(words, matrix.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return "PermissionMatrix" + toMap();
+    }
+
+}
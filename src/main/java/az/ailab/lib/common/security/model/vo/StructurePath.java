@@ -0,0 +1,210 @@
+package az.ailab.lib.common.security.model.vo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable, pre-parsed structure path such as {@code 123/456/789}.
+ * <p>
+ * The path is split once into its segments; ancestor and descendant queries then compare whole
+ * segments, so {@code 1/2} is never mistaken for a part of {@code 11/23}. Leading, trailing and repeated
+ * separators are ignored, and {@link #toString()} returns the canonical form without them
+ * (e.g. {@code 123/456/789}). Stored structure path columns use this canonical form, so the
+ * {@code descendant*} values compare directly against them.</p>
+ * <p>An empty path (from a {@code null} or blank value) neither contains nor is contained by any path.</p>
+ *
+ * @since 1.2
+ */
+public final class StructurePath {
+
+    /**
+     * Separator between path segments.
+     */
+    public static final char SEPARATOR = '/';
+
+    /**
+     * Escape character of the patterns returned by {@link #descendantLikePattern()}.
+     */
+    public static final char LIKE_ESCAPE = '\\';
+
+    /**
+     * A path without segments.
+     */
+    public static final StructurePath EMPTY = new StructurePath(new String[0], "");
+
+    private final String[] segments;
+    private final String value;
+
+    private StructurePath(final String[] segments, final String value) {
+        this.segments = segments;
+        this.value = value;
+    }
+
+    /**
+     * Parses the given path.
+     *
+     * @param path the raw structure path, may be {@code null}
+     * @return the parsed path, or {@link #EMPTY} if the value has no segments
+     */
+    public static StructurePath of(final String path) {
+        if (path == null || path.isBlank()) {
+            return EMPTY;
+        }
+        final List<String> segments = new ArrayList<>();
+        int start = 0;
+        final int length = path.length();
+        for (int i = 0; i <= length; i++) {
+            if (i == length || path.charAt(i) == SEPARATOR) {
+                if (i > start) {
+                    segments.add(path.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        if (segments.isEmpty()) {
+            return EMPTY;
+        }
+        return new StructurePath(segments.toArray(String[]::new), String.join(String.valueOf(SEPARATOR), segments));
+    }
+
+    /**
+     * Returns the number of segments.
+     *
+     * @return the path depth, {@code 0} for {@link #EMPTY}
+     */
+    public int depth() {
+        return segments.length;
+    }
+
+    /**
+     * Returns the segment at the given depth.
+     *
+     * @param index the zero-based segment index
+     * @return the segment value
+     * @throws IndexOutOfBoundsException if the index is outside {@code [0, depth())}
+     */
+    public String segment(final int index) {
+        return segments[index];
+    }
+
+    /**
+     * Checks whether the path has no segments.
+     *
+     * @return {@code true} for {@link #EMPTY}
+     */
+    public boolean isEmpty() {
+        return segments.length == 0;
+    }
+
+    /**
+     * Checks whether the other path is this path or lies below it.
+     *
+     * @param other the path to test
+     * @return {@code true} if this path is a prefix of {@code other}, segment by segment
+     */
+    public boolean contains(final StructurePath other) {
+        if (isEmpty() || other == null || other.segments.length < segments.length) {
+            return false;
+        }
+        for (int i = 0; i < segments.length; i++) {
+            if (!segments[i].equals(other.segments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a stored structure path is this path or lies below it.
+     * <p>The stored path is compared as is, in the canonical column format: it matches if it equals this path or
+     * starts with {@link #descendantPrefix()}. This is exactly the predicate {@code path = :path or path like
+     * :path/%} that {@code PermissionAwareFilterSpecification} sends to the database, so an entity is allowed in
+     * memory if and only if the query returns it.</p>
+     *
+     * @param storedPath the entity's stored structure path, may be {@code null}
+     * @return {@code true} if the stored path is at or below this path
+     */
+    public boolean containsStored(final String storedPath) {
+        if (isEmpty() || storedPath == null || !storedPath.startsWith(value)) {
+            return false;
+        }
+        return storedPath.length() == value.length() || storedPath.charAt(value.length()) == SEPARATOR;
+    }
+
+    /**
+     * Returns the common prefix of all descendants' canonical paths, i.e. this path followed by the separator.
+     *
+     * @return the descendant prefix, e.g. {@code 123/456/} for {@code 123/456}
+     */
+    public String descendantPrefix() {
+        return value + SEPARATOR;
+    }
+
+    /**
+     * Returns a {@code LIKE} pattern matching all descendants' canonical paths.
+     * <p>{@code %}, {@code _} and the escape character inside the path are escaped with {@link #LIKE_ESCAPE},
+     * which the query must declare (e.g. {@code like :pattern escape '\'}).</p>
+     *
+     * @return the descendant pattern, e.g. {@code 123/456/%} for {@code 123/456}
+     */
+    public String descendantLikePattern() {
+        final String prefix = descendantPrefix();
+        final StringBuilder pattern = new StringBuilder(prefix.length() + 4);
+        for (int i = 0; i < prefix.length(); i++) {
+            final char c = prefix.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    /**
+     * Returns the exclusive upper bound of all descendants' canonical paths in binary (code point) order.
+     * <p>Every canonical descendant {@code d} satisfies {@code descendantPrefix() <= d < descendantUpperBound()},
+     * which lets a database answer "below this path" with an index range scan instead of a {@code LIKE}.</p>
+     *
+     * @return this path followed by the character after the separator, e.g. {@code 123/4560} for {@code 123/456}
+     */
+    public String descendantUpperBound() {
+        return value + (char) (SEPARATOR + 1);
+    }
+
+    /**
+     * Checks whether this path lies strictly above the other path.
+     *
+     * @param other the path to test
+     * @return {@code true} if {@code other} is a descendant of this path
+     */
+    public boolean isAncestorOf(final StructurePath other) {
+        return other != null && other.segments.length > segments.length && contains(other);
+    }
+
+    /**
+     * Checks whether this path lies strictly below the other path.
+     *
+     * @param other the path to test
+     * @return {@code true} if {@code other} is an ancestor of this path
+     */
+    public boolean isDescendantOf(final StructurePath other) {
+        return other != null && other.isAncestorOf(this);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || o instanceof StructurePath other && Arrays.equals(segments, other.segments);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(segments);
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+}
@@ -8,6 +8,14 @@ import java.util.Map;
 public record UserRole(Long id,
                        String name,
                        RoleType type,
-                       Map<PermissionEnum, PermissionLevel> permissions) {
+                       Map<PermissionEnum, PermissionLevel> permissions,
+                       PermissionMatrix permissionMatrix) {
+
+    public UserRole(final Long id,
+                    final String name,
+                    final RoleType type,
+                    final Map<PermissionEnum, PermissionLevel> permissions) {
+        this(id, name, type, permissions, PermissionMatrix.of(permissions));
+    }
 
 }
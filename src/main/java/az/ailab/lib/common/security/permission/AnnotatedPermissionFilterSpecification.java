@@ -0,0 +1,72 @@
+package az.ailab.lib.common.security.permission;
+
+import az.ailab.lib.common.security.permission.scope.RowScope;
+import az.ailab.lib.common.security.permission.scope.RowScopeMapping;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import java.util.function.Function;
+
+/**
+ * {@link PermissionAwareFilterSpecification} whose scope attributes come from the entity's annotations.
+ * <p>Instead of implementing the attribute getters by hand, annotate the entity (see {@link RowScope})
+ * and pass its class to the constructor; only {@link #toSpecification()} is left to implement:</p>
+ * <pre>{@code
+ * public class OrderFilterSpecification extends AnnotatedPermissionFilterSpecification<Order> {
+ *     private final OrderFilter filter;
+ *
+ *     public OrderFilterSpecification(OrderFilter filter) {
+ *         super(Order.class);
+ *         this.filter = filter;
+ *     }
+ *
+ *     @Override
+ *     public Specification<Order> toSpecification() {
+ *         return FilterOperations.equals(filter.getStatus(), root -> root.get("status"));
+ *     }
+ * }
+ * }</pre>
+ * <p>The annotations are scanned once per entity class and the metamodel attributes are resolved once,
+ * see {@link RowScopeMapping}. Getters can still be overridden where a scope attribute is not a plain field.</p>
+ *
+ * @param <T> the entity type this specification will be applied to
+ * @since 1.2
+ */
+public abstract class AnnotatedPermissionFilterSpecification<T> extends PermissionAwareFilterSpecification<T> {
+
+    private final RowScopeMapping<T> mapping;
+
+    protected AnnotatedPermissionFilterSpecification(final Class<T> entityClass) {
+        this.mapping = RowScopeMapping.of(entityClass);
+    }
+
+    @Override
+    public Function<Root<T>, Expression<Long>> getUserId() {
+        return mapping.getUserId();
+    }
+
+    @Override
+    public Function<Root<T>, Expression<Long>> getDirectorateId() {
+        return mapping.getDirectorateId();
+    }
+
+    @Override
+    public Function<Root<T>, Expression<Integer>> getInstitutionId() {
+        return mapping.getInstitutionId();
+    }
+
+    @Override
+    public Function<Root<T>, Expression<String>> getStructurePath() {
+        return mapping.getStructurePath();
+    }
+
+    @Override
+    public boolean useOnlyPath() {
+        return mapping.useOnlyPath();
+    }
+
+    @Override
+    public PathMatchMode pathMatchMode() {
+        return mapping.getPathMatchMode();
+    }
+
+}
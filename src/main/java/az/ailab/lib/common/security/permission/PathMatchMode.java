@@ -0,0 +1,26 @@
+package az.ailab.lib.common.security.permission;
+
+/**
+ * How {@link PermissionAwareFilterSpecification} restricts an entity's structure path to the user's scope.
+ * <p>Both modes match the scope path itself and every path below it, comparing whole segments.</p>
+ *
+ * @since 1.2
+ */
+public enum PathMatchMode {
+
+    /**
+     * {@code path = :scope OR path LIKE ':scope/%'}.
+     * <p>Works with any column collation, but databases may not use a B-tree index for the {@code LIKE}
+     * (e.g. PostgreSQL with a non-{@code C} collation and no {@code text_pattern_ops} index).</p>
+     */
+    PREFIX,
+
+    /**
+     * {@code path = :scope OR (path >= ':scope/' AND path < ':scope0')}.
+     * <p>Both branches are plain comparisons that a B-tree index can answer with a range scan. The bounds
+     * rely on binary ordering ({@code '0'} directly follows {@code '/'}), so the column or its index must use
+     * a byte-ordered collation such as PostgreSQL's {@code "C"}.</p>
+     */
+    RANGE
+
+}
@@ -1,17 +1,16 @@
 package az.ailab.lib.common.security.permission;
 
-import static az.ailab.lib.common.util.specification.FilterOperations.alwaysTrue;
-import static az.ailab.lib.common.util.specification.FilterOperations.startsWith;
-
 import az.ailab.lib.common.error.ServiceException;
+import az.ailab.lib.common.security.context.UserContext;
 import az.ailab.lib.common.security.context.UserContextHolder;
+import az.ailab.lib.common.security.context.UserScope;
 import az.ailab.lib.common.security.model.enums.PermissionEnum;
 import az.ailab.lib.common.security.model.enums.PermissionLevel;
-import az.ailab.lib.common.util.specification.FilterOperations;
+import az.ailab.lib.common.security.model.vo.StructurePath;
 import az.ailab.lib.common.util.specification.FilterSpecification;
 import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
-import java.util.Map;
 import java.util.function.Function;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -88,6 +87,10 @@ import org.springframework.data.jpa.domain.Specification;
  * }</pre>
  * <p>Implementing classes need to define how entity fields map to permission-related attributes
  * by implementing the abstract methods.</p>
+ * <p>The user's IDs and paths are handed to the {@link jakarta.persistence.criteria.CriteriaBuilder} as values,
+ * never as literals, so with Hibernate's default {@code hibernate.criteria.value_handling_mode=bind} they become
+ * JDBC bind parameters: all users at the same {@link PermissionLevel} produce the same SQL and share its cached
+ * plan.</p>
  *
  * @param <T> the entity type this specification will be applied to
  * @see FilterSpecification
@@ -116,38 +119,83 @@ public abstract class PermissionAwareFilterSpecification<T> implements FilterSpe
      * Creates a specification that filters entities based on user's permission level.
      * <p>This method retrieves the user's permission level for the specified permission
      * and creates appropriate predicates based on that level. For example, with PERSONAL level,
-     * it filters only entities created by the current user.</p>
+     * it filters only entities created by the current user. SYSTEM level yields a {@code null} predicate,
+     * which Spring Data leaves out of the query entirely.</p>
      *
      * @param permissionEnum the permission to check against the user's granted permissions
      * @return a specification that restricts access based on permission level
      */
     private Specification<T> createPermissionSpecification(final PermissionEnum permissionEnum) {
-        if (!UserContextHolder.isAuthenticated()) {
+        final UserContext context = UserContextHolder.getContext();
+        if (!context.isAuthenticated()) {
             throw ServiceException.forbidden();
         }
-        final Map<PermissionEnum, PermissionLevel> permissions = UserContextHolder.getPermissions();
-        final PermissionLevel level = permissions.get(permissionEnum);
+        final PermissionLevel level = context.getPermissionMatrix().levelOf(permissionEnum);
 
         if (level == null) {
             throw ServiceException.forbidden();
         }
 
-        final Long currentUserId = UserContextHolder.getUserId();
-        final Long currentDirectorateId = UserContextHolder.getDirectorateId();
-        final Integer currentInstitutionId = UserContextHolder.getInstitutionId();
-        final String currentStructurePath = UserContextHolder.getStructurePath();
+        final UserScope scope = context.getScope();
 
         return switch (level) {
-            case SYSTEM -> alwaysTrue(); // Full access
-            case INSTITUTION -> useOnlyPath() ? startsWith(resolveInstitutionPath(currentInstitutionId), getStructurePath())
-                    : FilterOperations.equals(currentInstitutionId, getInstitutionId());
+            case SYSTEM -> (root, query, cb) -> null; // Full access, no predicate at all
+            case INSTITUTION -> useOnlyPath() ? withinPath(StructurePath.of(resolveInstitutionPath(scope.institutionId())))
+                    : equalTo(getInstitutionId(), scope.institutionId());
+
+            case DIRECTORATE -> useOnlyPath()
+                    ? withinPath(StructurePath.of(resolveDirectoratePath(scope.institutionId(), scope.directorateId())))
+                    : equalTo(getDirectorateId(), scope.directorateId());
+
+            case STRUCTURE -> withinPath(scope.path());
+            case PERSONAL -> equalTo(getUserId(), scope.userId());
+        };
+    }
+
+    /**
+     * Restricts an attribute to the user's value, passed to the criteria builder as a bound value.
+     * <p>A missing user value matches nothing.</p>
+     *
+     * @param attribute extracts the entity attribute
+     * @param value     the user's value
+     * @param <V>       the attribute type
+     * @return a specification comparing the attribute with the value
+     */
+    private <V> Specification<T> equalTo(final Function<Root<T>, Expression<V>> attribute, final V value) {
+        if (value == null) {
+            return (root, query, cb) -> cb.disjunction();
+        }
+        return (root, query, cb) -> cb.equal(attribute.apply(root), value);
+    }
 
-            case DIRECTORATE ->
-                    useOnlyPath() ? startsWith(resolveDirectoratePath(currentInstitutionId, currentDirectorateId), getStructurePath())
-                            : FilterOperations.equals(currentDirectorateId, getDirectorateId());
+    /**
+     * Restricts entities to the given path and everything below it.
+     * <p>Matches the canonical path itself or any path that continues it with a separator, so sibling
+     * branches sharing a textual prefix (e.g. {@code 1/2} and {@code 1/23}) are not matched.
+     * The descendant branch is a {@code LIKE} or an index-friendly range, depending on {@link #pathMatchMode()}.
+     * An empty path matches nothing.</p>
+     *
+     * @param path the scope path
+     * @return a specification restricting the entity's structure path
+     */
+    private Specification<T> withinPath(final StructurePath path) {
+        if (path.isEmpty()) {
+            return (root, query, cb) -> cb.disjunction();
+        }
+        final PathMatchMode mode = pathMatchMode();
+        final Function<Root<T>, Expression<String>> structurePath = getStructurePath();
+        final String value = path.toString();
+        final String lowerBound = path.descendantPrefix();
+        final String upperBound = path.descendantUpperBound();
+        final String pattern = path.descendantLikePattern();
 
-            case STRUCTURE -> startsWith(currentStructurePath, getStructurePath());
-            case PERSONAL -> FilterOperations.equals(currentUserId, getUserId());
+        return (root, query, cb) -> {
+            final Expression<String> expression = structurePath.apply(root);
+            final Predicate descendants = switch (mode) {
+                case PREFIX -> cb.like(expression, pattern, StructurePath.LIKE_ESCAPE);
+                case RANGE -> cb.and(cb.greaterThanOrEqualTo(expression, lowerBound), cb.lessThan(expression, upperBound));
+            };
+            return cb.or(cb.equal(expression, value), descendants);
         };
     }
 
@@ -211,6 +259,8 @@ public abstract class PermissionAwareFilterSpecification<T> implements FilterSpe
      * <p>This method should return a function that, when applied to a root,
      * returns the expression representing the structure path field of the entity.
      * Used for STRUCTURE level permission filtering and path-based filtering.</p>
+     * <p>The column is expected to hold canonical paths without leading or trailing separators,
+     * e.g. {@code 123/456}.</p>
      *
      * @return a function that extracts the structure path expression from the root
      */
@@ -227,4 +277,15 @@ public abstract class PermissionAwareFilterSpecification<T> implements FilterSpe
      */
     public abstract boolean useOnlyPath();
 
+    /**
+     * Determines how structure paths are matched for path-based levels.
+     * <p>Defaults to {@link PathMatchMode#PREFIX}. Override to return {@link PathMatchMode#RANGE} for large
+     * tables whose structure path column is indexed with a byte-ordered collation.</p>
+     *
+     * @return the path match mode
+     */
+    public PathMatchMode pathMatchMode() {
+        return PathMatchMode.PREFIX;
+    }
+
 }
@@ -1,11 +1,13 @@
 package az.ailab.lib.common.security.permission;
 
 import az.ailab.lib.common.error.ServiceException;
+import az.ailab.lib.common.security.context.UserContext;
 import az.ailab.lib.common.security.context.UserContextHolder;
+import az.ailab.lib.common.security.context.UserScope;
 import az.ailab.lib.common.security.model.enums.PermissionEnum;
 import az.ailab.lib.common.security.model.enums.PermissionLevel;
+import az.ailab.lib.common.security.model.vo.StructurePath;
 import az.ailab.lib.common.security.permission.vo.EntityContext;
-import java.util.Map;
 import java.util.Objects;
 import javax.validation.Valid;
 
@@ -32,6 +34,9 @@ public class PermissionChecker {
 
     private final EntityContext entityContext;
 
+    private volatile ScopedPath institutionPath;
+    private volatile ScopedPath directoratePath;
+
     public PermissionChecker(@Valid final EntityContext entityContext) {
         this.entityContext = entityContext;
     }
@@ -40,38 +45,112 @@ public class PermissionChecker {
      * Checks if the current user has the specified permission.
      * Throws a {@link ServiceException} if the user is not authenticated
      * or does not have the required permission.
+     * <p>Every denial throws a new exception from {@link #deniedException(Decision)}, since callers may attach
+     * causes or suppressed exceptions to it. Callers that only need the outcome should prefer
+     * {@link #tryCheck(PermissionEnum)}, which allocates nothing.</p>
      *
      * @param permissionEnum the permission to check for
      * @throws ServiceException if the user is not authenticated or doesn't have the required permission
      */
     public void check(final PermissionEnum permissionEnum) {
-        final Map<PermissionEnum, PermissionLevel> permissions = UserContextHolder.getPermissions();
-        final PermissionLevel level = permissions.get(permissionEnum);
+        final Decision decision = evaluate(permissionEnum);
+        if (!decision.isAllowed()) {
+            throw deniedException(decision);
+        }
+    }
+
+    /**
+     * Creates the exception thrown by {@link #check(PermissionEnum)} for a denial.
+     * <p>It can be overridden by subclasses, e.g. to return a {@link ServiceException} subtype that skips
+     * capturing the stack trace on hot deny paths. It must return a new instance on every call.</p>
+     *
+     * @param decision the reason access was denied
+     * @return the exception to throw
+     */
+    protected ServiceException deniedException(final Decision decision) {
+        return ServiceException.forbidden();
+    }
+
+    /**
+     * Checks if the current user has the specified permission without throwing.
+     *
+     * @param permissionEnum the permission to check for
+     * @return {@code true} if the user is authenticated and has the permission for the entity
+     */
+    public boolean tryCheck(final PermissionEnum permissionEnum) {
+        return evaluate(permissionEnum).isAllowed();
+    }
+
+    /**
+     * Evaluates the specified permission for the current user and reports why access was denied, if it was.
+     * <p>Never throws or allocates an exception.</p>
+     *
+     * @param permissionEnum the permission to check for
+     * @return the {@link Decision} for the current user and entity
+     */
+    public Decision evaluate(final PermissionEnum permissionEnum) {
+        final UserContext context = UserContextHolder.getContext();
+        if (!context.isAuthenticated()) {
+            return Decision.UNAUTHENTICATED;
+        }
 
-        if (!UserContextHolder.isAuthenticated() || level == null) {
-            throw ServiceException.forbidden();
+        final PermissionLevel level = context.getPermissionMatrix().levelOf(permissionEnum);
+        if (level == null) {
+            return Decision.MISSING_PERMISSION;
         }
 
-        final Long currentUserId = UserContextHolder.getUserId();
-        final Long currentDirectorateId = UserContextHolder.getDirectorateId();
-        final Integer currentInstitutionId = UserContextHolder.getInstitutionId();
-        final String currentStructurePath = UserContextHolder.getStructurePath();
+        return isAllowed(context.getScope(), level, entityContext) ? Decision.ALLOWED : Decision.OUT_OF_SCOPE;
+    }
 
-        boolean hasPermission = switch (level) {
-            case PERSONAL -> Objects.equals(currentUserId, entityContext.userId());
-            case STRUCTURE -> currentStructurePath.contains(entityContext.structurePath());
+    /**
+     * Evaluates whether a user with the given scope and permission level may access an entity.
+     * <p>Shared by {@link #check(PermissionEnum)} and {@link BulkPermissionChecker}, so path format
+     * overrides apply to both. Path-based levels allow the entity if its stored structure path is the scope path
+     * (the user's path, or the resolved directorate or institution path) or lies below it. The comparison is the
+     * same as the predicate of {@link PermissionAwareFilterSpecification}, so a single check agrees with the
+     * list query.</p>
+     *
+     * @param scope         the current user's scope
+     * @param level         the user's level for the checked permission
+     * @param entityContext the entity to check
+     * @return {@code true} if access is allowed
+     */
+    protected boolean isAllowed(final UserScope scope, final PermissionLevel level, final EntityContext entityContext) {
+        return switch (level) {
+            case PERSONAL -> Objects.equals(scope.userId(), entityContext.userId());
+            case STRUCTURE -> scope.path().containsStored(entityContext.structurePath());
             case DIRECTORATE -> entityContext.useOnlyPath() ?
-                    currentStructurePath.contains(resolveDirectoratePath(currentInstitutionId, currentDirectorateId))
-                    : Objects.equals(currentDirectorateId, entityContext.directorateId());
+                    directoratePath(scope).containsStored(entityContext.structurePath())
+                    : Objects.equals(scope.directorateId(), entityContext.directorateId());
             case INSTITUTION -> entityContext.useOnlyPath() ?
-                    currentStructurePath.contains(resolveInstitutionPath(currentInstitutionId))
-                    : Objects.equals(currentInstitutionId, entityContext.institutionId());
+                    institutionPath(scope).containsStored(entityContext.structurePath())
+                    : Objects.equals(scope.institutionId(), entityContext.institutionId());
             case SYSTEM -> true;
         };
+    }
+
+    /**
+     * Returns the parsed institution path of the scope, reusing it while the same scope is checked.
+     */
+    private StructurePath institutionPath(final UserScope scope) {
+        ScopedPath cached = institutionPath;
+        if (cached == null || cached.scope() != scope) {
+            cached = new ScopedPath(scope, StructurePath.of(resolveInstitutionPath(scope.institutionId())));
+            institutionPath = cached;
+        }
+        return cached.path();
+    }
 
-        if (!hasPermission) {
-            throw ServiceException.forbidden();
+    /**
+     * Returns the parsed directorate path of the scope, reusing it while the same scope is checked.
+     */
+    private StructurePath directoratePath(final UserScope scope) {
+        ScopedPath cached = directoratePath;
+        if (cached == null || cached.scope() != scope) {
+            cached = new ScopedPath(scope, StructurePath.of(resolveDirectoratePath(scope.institutionId(), scope.directorateId())));
+            directoratePath = cached;
         }
+        return cached.path();
     }
 
     /**
@@ -99,4 +178,48 @@ public class PermissionChecker {
         return institutionId + "/" + directorateId;
     }
 
+    /**
+     * A scope path resolved for one {@link UserScope} instance; scopes are cached with the authentication,
+     * so repeated checks for the same user (e.g. by a {@link BulkPermissionChecker}) skip rebuilding it.
+     */
+    private record ScopedPath(UserScope scope, StructurePath path) {
+
+    }
+
+    /**
+     * Outcome of {@link #evaluate(PermissionEnum)}.
+     */
+    public enum Decision {
+
+        /**
+         * The user has the permission and the entity is within its level.
+         */
+        ALLOWED,
+
+        /**
+         * There is no authenticated user.
+         */
+        UNAUTHENTICATED,
+
+        /**
+         * The user does not hold the permission at any level.
+         */
+        MISSING_PERMISSION,
+
+        /**
+         * The user holds the permission, but the entity is outside its level.
+         */
+        OUT_OF_SCOPE;
+
+        /**
+         * Returns whether access is granted.
+         *
+         * @return {@code true} only for {@link #ALLOWED}
+         */
+        public boolean isAllowed() {
+            return this == ALLOWED;
+        }
+
+    }
+
 }
@@ -0,0 +1,68 @@
+package az.ailab.lib.common.security.permission;
+
+import az.ailab.lib.common.security.model.enums.PermissionEnum;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+/**
+ * Repository mixin that runs {@link PermissionAwareFilterSpecification}s without loading entity pages
+ * when only existence or a count is needed.
+ * <p>Usage example:</p>
+ * <pre>{@code
+ * public interface OrderRepository extends JpaRepository<Order, Long>, PermissionScopedRepository<Order> {
+ * }
+ *
+ * boolean any = orderRepository.existsWithPermission(new OrderFilterSpecification(filter), Permission.ORDER_READ);
+ * }</pre>
+ * <p>{@link #existsWithPermission} is executed by Spring Data as a {@code select 1 ... limit 1} query and
+ * {@link #countWithPermission} as a {@code select count(...)} query. For SYSTEM level the permission
+ * specification adds no predicate, so without other filters the query has no {@code where} clause at all.</p>
+ *
+ * @param <T> the entity type
+ * @since 1.2
+ */
+public interface PermissionScopedRepository<T> extends JpaSpecificationExecutor<T> {
+
+    /**
+     * Checks whether the current user sees at least one entity matching the specification.
+     *
+     * @param specification  the filter specification
+     * @param permissionEnum the permission to check against the user's granted permissions
+     * @return {@code true} if at least one visible entity matches
+     * @throws az.ailab.lib.common.error.ServiceException if the user is not authenticated or lacks the permission
+     */
+    default boolean existsWithPermission(final PermissionAwareFilterSpecification<T> specification,
+                                         final PermissionEnum permissionEnum) {
+        return exists(specification.toSpecificationWithPermission(permissionEnum));
+    }
+
+    /**
+     * Counts the entities matching the specification that the current user sees.
+     *
+     * @param specification  the filter specification
+     * @param permissionEnum the permission to check against the user's granted permissions
+     * @return the number of visible matching entities
+     * @throws az.ailab.lib.common.error.ServiceException if the user is not authenticated or lacks the permission
+     */
+    default long countWithPermission(final PermissionAwareFilterSpecification<T> specification,
+                                     final PermissionEnum permissionEnum) {
+        return count(specification.toSpecificationWithPermission(permissionEnum));
+    }
+
+    /**
+     * Returns a page of the entities matching the specification that the current user sees.
+     *
+     * @param specification  the filter specification
+     * @param permissionEnum the permission to check against the user's granted permissions
+     * @param pageable       the paging information
+     * @return the page of visible matching entities
+     * @throws az.ailab.lib.common.error.ServiceException if the user is not authenticated or lacks the permission
+     */
+    default Page<T> findAllWithPermission(final PermissionAwareFilterSpecification<T> specification,
+                                          final PermissionEnum permissionEnum,
+                                          final Pageable pageable) {
+        return findAll(specification.toSpecificationWithPermission(permissionEnum), pageable);
+    }
+
+}
@@ -0,0 +1,52 @@
+package az.ailab.lib.common.security.permission.scope;
+
+import az.ailab.lib.common.security.permission.PathMatchMode;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures how rows of an entity are restricted to the current user's permission scope.
+ * <p>The scope attributes themselves are marked on the entity's fields:</p>
+ * <pre>{@code
+ * @Entity
+ * @RowScope(useOnlyPath = true)
+ * public class Order {
+ *     @ScopeOwner
+ *     private Long createdBy;
+ *
+ *     @ScopeDirectorate
+ *     private Long directorateId;
+ *
+ *     @ScopeInstitution
+ *     private Integer institutionId;
+ *
+ *     @ScopeStructurePath
+ *     private String structurePath;
+ * }
+ * }</pre>
+ * <p>The annotation is optional; without it ID-based filtering and {@link PathMatchMode#PREFIX} are used.</p>
+ *
+ * @see RowScopeMapping
+ * @since 1.2
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RowScope {
+
+    /**
+     * Whether institution and directorate levels filter by structure path instead of IDs.
+     *
+     * @return true to use path-based filtering, false to use ID-based filtering
+     */
+    boolean useOnlyPath() default false;
+
+    /**
+     * How structure paths are matched for path-based levels.
+     *
+     * @return the path match mode
+     */
+    PathMatchMode pathMatchMode() default PathMatchMode.PREFIX;
+
+}
@@ -0,0 +1,154 @@
+package az.ailab.lib.common.security.permission.scope;
+
+import az.ailab.lib.common.security.context.UserContext;
+import az.ailab.lib.common.security.context.UserContextHolder;
+import az.ailab.lib.common.security.context.UserScope;
+import az.ailab.lib.common.security.model.enums.PermissionEnum;
+import az.ailab.lib.common.security.model.enums.PermissionLevel;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Objects;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} decorator that publishes the current user's scope as PostgreSQL session settings
+ * whenever a connection is checked out, for row-level security policies to compare against.
+ * <p>
+ * One statement sets all values, so the scoping costs a single round trip per checkout and is then enforced
+ * by the database planner for every query on the connection, native SQL included. With the default prefix the
+ * settings are:</p>
+ * <ul>
+ *     <li>{@code app.user_id}, {@code app.directorate_id}, {@code app.institution_id}</li>
+ *     <li>{@code app.structure_path} - the canonical structure path</li>
+ *     <li>{@code app.permissions} - comma separated {@code PERMISSION:LEVEL} pairs, e.g. {@code USER_READ:STRUCTURE}</li>
+ * </ul>
+ * <pre>{@code
+ * alter table orders enable row level security;
+ * create policy orders_read on orders using (
+ *     position(',ORDER_READ:SYSTEM,' in ',' || current_setting('app.permissions', true) || ',') > 0
+ *     or (position(',ORDER_READ:STRUCTURE,' in ',' || current_setting('app.permissions', true) || ',') > 0
+ *         and (structure_path = current_setting('app.structure_path', true)
+ *              or structure_path like current_setting('app.structure_path', true) || '/%')));
+ * }</pre>
+ * <p>Values are always written, as empty strings for anonymous requests, so a pooled connection never keeps
+ * the scope of its previous user. Connections must be checked out on the thread that holds the user context,
+ * which is the case for Spring-managed transactions.</p>
+ * <p>The database product is checked on the first checkout. Databases other than PostgreSQL have no
+ * {@code set_config}, so their connections are handed out unchanged and a warning is logged once.</p>
+ *
+ * @since 1.2
+ */
+@Slf4j
+public class RowScopeDataSource extends DelegatingDataSource {
+
+    /**
+     * Default prefix of the session setting names.
+     */
+    public static final String DEFAULT_SETTING_PREFIX = "app.";
+
+    /**
+     * Name of the data source bean that is wrapped by default, the one Spring Boot auto-configures.
+     */
+    public static final String DEFAULT_DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    public static final String USER_ID = "user_id";
+    public static final String DIRECTORATE_ID = "directorate_id";
+    public static final String INSTITUTION_ID = "institution_id";
+    public static final String STRUCTURE_PATH = "structure_path";
+    public static final String PERMISSIONS = "permissions";
+
+    private static final String SET_CONFIG_SQL =
+            "select set_config(?, ?, false), set_config(?, ?, false), set_config(?, ?, false), "
+                    + "set_config(?, ?, false), set_config(?, ?, false)";
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final String settingPrefix;
+    private volatile Boolean supported;
+
+    public RowScopeDataSource(final DataSource targetDataSource) {
+        this(targetDataSource, DEFAULT_SETTING_PREFIX);
+    }
+
+    public RowScopeDataSource(final DataSource targetDataSource, final String settingPrefix) {
+        super(targetDataSource);
+        this.settingPrefix = Objects.requireNonNull(settingPrefix, "settingPrefix");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return applyScope(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return applyScope(super.getConnection(username, password));
+    }
+
+    private Connection applyScope(final Connection connection) throws SQLException {
+        try {
+            if (isSupported(connection)) {
+                setScope(connection);
+            }
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    private void setScope(final Connection connection) throws SQLException {
+        final UserContext context = UserContextHolder.getContext();
+        final UserScope scope = context.getScope();
+        try (PreparedStatement statement = connection.prepareStatement(SET_CONFIG_SQL)) {
+            int index = 1;
+            index = bind(statement, index, USER_ID, scope.userId());
+            index = bind(statement, index, DIRECTORATE_ID, scope.directorateId());
+            index = bind(statement, index, INSTITUTION_ID, scope.institutionId());
+            index = bind(statement, index, STRUCTURE_PATH, scope.path());
+            bind(statement, index, PERMISSIONS, context.isAuthenticated() ? permissions(context.getPermissions()) : null);
+            statement.execute();
+        }
+    }
+
+    private boolean isSupported(final Connection connection) throws SQLException {
+        Boolean current = supported;
+        if (current == null) {
+            final DatabaseMetaData metaData = connection.getMetaData();
+            final String product = metaData != null ? metaData.getDatabaseProductName() : null;
+            current = POSTGRESQL.equalsIgnoreCase(product);
+            if (!current) {
+                log.warn("Row scope session settings require PostgreSQL, connections to '{}' are left unscoped", product);
+            }
+            supported = current;
+        }
+        return current;
+    }
+
+    private int bind(final PreparedStatement statement, final int index, final String name, final Object value)
+            throws SQLException {
+        statement.setString(index, settingPrefix + name);
+        statement.setString(index + 1, value != null ? value.toString() : "");
+        return index + 2;
+    }
+
+    private static String permissions(final Map<PermissionEnum, PermissionLevel> permissions) {
+        final StringBuilder value = new StringBuilder(permissions.size() * 24);
+        for (Map.Entry<PermissionEnum, PermissionLevel> entry : permissions.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null) {
+                continue;
+            }
+            if (!value.isEmpty()) {
+                value.append(',');
+            }
+            value.append(entry.getKey().name()).append(':').append(entry.getValue().name());
+        }
+        return value.toString();
+    }
+
+}
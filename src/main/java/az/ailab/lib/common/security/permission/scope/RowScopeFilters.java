@@ -0,0 +1,196 @@
+package az.ailab.lib.common.security.permission.scope;
+
+import az.ailab.lib.common.error.ServiceException;
+import az.ailab.lib.common.security.context.UserContext;
+import az.ailab.lib.common.security.context.UserContextHolder;
+import az.ailab.lib.common.security.context.UserScope;
+import az.ailab.lib.common.security.model.enums.PermissionEnum;
+import az.ailab.lib.common.security.model.enums.PermissionLevel;
+import az.ailab.lib.common.security.model.vo.StructurePath;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Filter;
+import org.hibernate.Session;
+
+/**
+ * Enforces the current user's permission scope through Hibernate filters instead of per-query specifications.
+ * <p>
+ * The filters are defined once in this package (see {@code package-info.java}) and attached to entities with
+ * {@code @Filter}. Their default conditions assume conventional column names; entities with other columns
+ * pass their own condition using the same parameters:</p>
+ * <pre>{@code
+ * @Entity
+ * @Filter(name = RowScopeFilters.PERSONAL, condition = "created_by = :" + RowScopeFilters.USER_ID)
+ * @Filter(name = RowScopeFilters.DIRECTORATE)
+ * @Filter(name = RowScopeFilters.INSTITUTION)
+ * @Filter(name = RowScopeFilters.STRUCTURE)
+ * public class Order { ... }
+ *
+ * // In a transactional service method:
+ * rowScopeFilters.enable(entityManager, Permission.ORDER_READ);
+ * orderRepository.findByStatus(status); // JPQL, derived queries and filtered collections are scoped
+ * }</pre>
+ * <p>{@link #enable(Session, PermissionEnum)} turns on exactly the filter for the user's level of the permission,
+ * so Hibernate adds one parameterised condition to every query of the session; {@code SYSTEM} enables none.
+ * Hibernate filters do not apply to native SQL queries; use {@link RowScopeDataSource} with database
+ * row-level security policies for those.</p>
+ * <p><strong>Lookups by id are not scoped.</strong> Hibernate applies filters to queries only, not to
+ * {@code EntityManager.find}/{@code getReference} or {@code Session.get}, so Spring Data's {@code findById} and
+ * {@code getReferenceById} return entities outside the user's scope, as does lazy loading of a to-one
+ * association. Check such entities with {@link az.ailab.lib.common.security.permission.PermissionChecker}, or load
+ * them through a query method (e.g. {@code findOneById}) that the filter applies to.</p>
+ * <p>The directorate and institution filters also receive the scope's structure path ({@link #PATH}) and
+ * descendant {@code LIKE} pattern ({@link #PATH_PREFIX}) for entities that scope by path; see
+ * {@link #STRUCTURE_PATH_CONDITION}.</p>
+ *
+ * @since 1.2
+ */
+public class RowScopeFilters {
+
+    /**
+     * Filter for PERSONAL level; default condition {@code user_id = :userId}.
+     */
+    public static final String PERSONAL = "rowScopePersonal";
+
+    /**
+     * Filter for DIRECTORATE level; default condition {@code directorate_id = :directorateId}.
+     */
+    public static final String DIRECTORATE = "rowScopeDirectorate";
+
+    /**
+     * Filter for INSTITUTION level; default condition {@code institution_id = :institutionId}.
+     */
+    public static final String INSTITUTION = "rowScopeInstitution";
+
+    /**
+     * Filter for STRUCTURE level; default condition {@link #STRUCTURE_PATH_CONDITION}.
+     */
+    public static final String STRUCTURE = "rowScopeStructure";
+
+    public static final String USER_ID = "userId";
+    public static final String DIRECTORATE_ID = "directorateId";
+    public static final String INSTITUTION_ID = "institutionId";
+    public static final String PATH = "path";
+    public static final String PATH_PREFIX = "pathPrefix";
+
+    /**
+     * Matches a {@code structure_path} column at or below the scope path, on whole segments.
+     */
+    public static final String STRUCTURE_PATH_CONDITION =
+            "(structure_path = :" + PATH + " or structure_path like :" + PATH_PREFIX + " escape '\\')";
+
+    private static final String[] FILTERS = {PERSONAL, DIRECTORATE, INSTITUTION, STRUCTURE};
+
+    /**
+     * Enables the row scope filter for the current user's level of the given permission.
+     *
+     * @param entityManager  the entity manager of the current persistence context
+     * @param permissionEnum the permission the following queries are executed under
+     * @return the user's level of the permission
+     * @throws ServiceException if the user is not authenticated, lacks the permission or has no value for its scope
+     */
+    public PermissionLevel enable(final EntityManager entityManager, final PermissionEnum permissionEnum) {
+        return enable(entityManager.unwrap(Session.class), permissionEnum);
+    }
+
+    /**
+     * Enables the row scope filter for the current user's level of the given permission.
+     * <p>Any row scope filter enabled before is disabled first. Lookups by id are not filtered, see the class
+     * documentation.</p>
+     *
+     * @param session        the Hibernate session
+     * @param permissionEnum the permission the following queries are executed under
+     * @return the user's level of the permission
+     * @throws ServiceException if the user is not authenticated, lacks the permission or has no value for its scope
+     */
+    public PermissionLevel enable(final Session session, final PermissionEnum permissionEnum) {
+        final UserContext context = UserContextHolder.getContext();
+        final PermissionLevel level = context.getPermissionMatrix().levelOf(permissionEnum);
+        if (!context.isAuthenticated() || level == null) {
+            throw ServiceException.forbidden();
+        }
+
+        final UserScope scope = context.getScope();
+        disable(session);
+        switch (level) {
+            case PERSONAL -> {
+                final Long userId = required(scope.userId());
+                session.enableFilter(PERSONAL).setParameter(USER_ID, userId);
+            }
+            case DIRECTORATE -> {
+                final Long directorateId = required(scope.directorateId());
+                final StructurePath path = required(StructurePath.of(
+                        resolveDirectoratePath(required(scope.institutionId()), directorateId)));
+                setPath(session.enableFilter(DIRECTORATE).setParameter(DIRECTORATE_ID, directorateId), path);
+            }
+            case INSTITUTION -> {
+                final Integer institutionId = required(scope.institutionId());
+                final StructurePath path = required(StructurePath.of(resolveInstitutionPath(institutionId)));
+                setPath(session.enableFilter(INSTITUTION).setParameter(INSTITUTION_ID, institutionId), path);
+            }
+            case STRUCTURE -> setPath(session.enableFilter(STRUCTURE), required(scope.path()));
+            case SYSTEM -> {
+                // Full access, no filter
+            }
+        }
+        return level;
+    }
+
+    /**
+     * Disables all row scope filters of the session.
+     *
+     * @param entityManager the entity manager of the current persistence context
+     */
+    public void disable(final EntityManager entityManager) {
+        disable(entityManager.unwrap(Session.class));
+    }
+
+    /**
+     * Disables all row scope filters of the session.
+     *
+     * @param session the Hibernate session
+     */
+    public void disable(final Session session) {
+        for (String filter : FILTERS) {
+            session.disableFilter(filter);
+        }
+    }
+
+    /**
+     * Builds a path string for institution level filtering.
+     * <p>It can be overridden by subclasses if the path format changes.</p>
+     *
+     * @param institutionId the institution ID to create a path for
+     * @return a string representation of the institution path
+     */
+    protected String resolveInstitutionPath(final Integer institutionId) {
+        return institutionId.toString();
+    }
+
+    /**
+     * Builds a path string for directorate level filtering.
+     * <p>It can be overridden by subclasses if the path format changes.</p>
+     *
+     * @param institutionId the institution ID part of the path
+     * @param directorateId the directorate ID part of the path
+     * @return a string representation of the directorate path
+     */
+    protected String resolveDirectoratePath(final Integer institutionId, final Long directorateId) {
+        return institutionId + "/" + directorateId;
+    }
+
+    private static void setPath(final Filter filter, final StructurePath path) {
+        filter.setParameter(PATH, path.toString())
+                .setParameter(PATH_PREFIX, path.descendantLikePattern());
+    }
+
+    /**
+     * A scope without the value its filter compares against must not see any rows.
+     */
+    private static <V> V required(final V value) {
+        if (value == null || value instanceof StructurePath path && path.isEmpty()) {
+            throw ServiceException.forbidden();
+        }
+        return value;
+    }
+
+}
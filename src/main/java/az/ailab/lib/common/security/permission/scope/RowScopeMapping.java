@@ -0,0 +1,182 @@
+package az.ailab.lib.common.security.permission.scope;
+
+import az.ailab.lib.common.security.permission.PathMatchMode;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.function.Function;
+
+/**
+ * Row scope attributes of an entity class, read once from its {@link RowScope} and scope field annotations.
+ * <p>
+ * Mappings are cached per class, so the annotation scan runs once. The accessor functions resolve their
+ * JPA {@link SingularAttribute} from the metamodel on first use and reuse it for later queries against the
+ * same metamodel, so building a permission predicate does not look attributes up by name.</p>
+ *
+ * @param <T> the entity type
+ * @since 1.2
+ */
+public final class RowScopeMapping<T> {
+
+    private static final ClassValue<RowScopeMapping<?>> MAPPINGS = new ClassValue<>() {
+        @Override
+        protected RowScopeMapping<?> computeValue(final Class<?> type) {
+            return new RowScopeMapping<>(type);
+        }
+    };
+
+    private final Class<T> entityClass;
+    private final boolean useOnlyPath;
+    private final PathMatchMode pathMatchMode;
+    private final ScopeAttribute<T, Long> owner;
+    private final ScopeAttribute<T, Long> directorate;
+    private final ScopeAttribute<T, Integer> institution;
+    private final ScopeAttribute<T, String> structurePath;
+
+    private RowScopeMapping(final Class<T> entityClass) {
+        final RowScope rowScope = entityClass.getAnnotation(RowScope.class);
+        this.entityClass = entityClass;
+        this.useOnlyPath = rowScope != null && rowScope.useOnlyPath();
+        this.pathMatchMode = rowScope != null ? rowScope.pathMatchMode() : PathMatchMode.PREFIX;
+        this.owner = scan(entityClass, ScopeOwner.class, Long.class);
+        this.directorate = scan(entityClass, ScopeDirectorate.class, Long.class);
+        this.institution = scan(entityClass, ScopeInstitution.class, Integer.class);
+        this.structurePath = scan(entityClass, ScopeStructurePath.class, String.class);
+    }
+
+    /**
+     * Returns the cached mapping of the given entity class.
+     *
+     * @param entityClass the entity class
+     * @param <T>         the entity type
+     * @return the row scope mapping
+     * @throws IllegalStateException if a scope annotation is repeated or placed on a field of the wrong type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RowScopeMapping<T> of(final Class<T> entityClass) {
+        return (RowScopeMapping<T>) MAPPINGS.get(entityClass);
+    }
+
+    public Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    public boolean useOnlyPath() {
+        return useOnlyPath;
+    }
+
+    public PathMatchMode getPathMatchMode() {
+        return pathMatchMode;
+    }
+
+    /**
+     * Returns the accessor of the {@link ScopeOwner} field.
+     *
+     * @return a function that extracts the owner ID expression from the root
+     */
+    public Function<Root<T>, Expression<Long>> getUserId() {
+        return owner;
+    }
+
+    /**
+     * Returns the accessor of the {@link ScopeDirectorate} field.
+     *
+     * @return a function that extracts the directorate ID expression from the root
+     */
+    public Function<Root<T>, Expression<Long>> getDirectorateId() {
+        return directorate;
+    }
+
+    /**
+     * Returns the accessor of the {@link ScopeInstitution} field.
+     *
+     * @return a function that extracts the institution ID expression from the root
+     */
+    public Function<Root<T>, Expression<Integer>> getInstitutionId() {
+        return institution;
+    }
+
+    /**
+     * Returns the accessor of the {@link ScopeStructurePath} field.
+     *
+     * @return a function that extracts the structure path expression from the root
+     */
+    public Function<Root<T>, Expression<String>> getStructurePath() {
+        return structurePath;
+    }
+
+    private static <T, Y> ScopeAttribute<T, Y> scan(final Class<T> entityClass,
+                                                  final Class<? extends Annotation> annotation,
+                                                  final Class<Y> type) {
+        Field found = null;
+        for (Class<?> current = entityClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(annotation)) {
+                    continue;
+                }
+                if (found != null) {
+                    throw new IllegalStateException("Duplicate @" + annotation.getSimpleName() + " on " + entityClass.getName()
+                            + ": " + found.getName() + ", " + field.getName());
+                }
+                if (field.getType() != type && !(field.getType().isPrimitive() && wrapperOf(field.getType()) == type)) {
+                    throw new IllegalStateException("@" + annotation.getSimpleName() + " field " + entityClass.getName() + "."
+                            + field.getName() + " must be of type " + type.getSimpleName());
+                }
+                found = field;
+            }
+        }
+        return new ScopeAttribute<>(entityClass, annotation, found != null ? found.getName() : null);
+    }
+
+    private static Class<?> wrapperOf(final Class<?> primitive) {
+        if (primitive == long.class) {
+            return Long.class;
+        }
+        return primitive == int.class ? Integer.class : primitive;
+    }
+
+    /**
+     * Accessor of one scope attribute; caches the metamodel attribute for the last seen entity model.
+     */
+    private static final class ScopeAttribute<T, Y> implements Function<Root<T>, Expression<Y>> {
+
+        private final Class<T> entityClass;
+        private final Class<? extends Annotation> annotation;
+        private final String name;
+        private volatile Resolved<T, Y> resolved;
+
+        private ScopeAttribute(final Class<T> entityClass, final Class<? extends Annotation> annotation, final String name) {
+            this.entityClass = entityClass;
+            this.annotation = annotation;
+            this.name = name;
+        }
+
+        @Override
+        public Expression<Y> apply(final Root<T> root) {
+            if (name == null) {
+                throw new IllegalStateException("No @" + annotation.getSimpleName() + " field on " + entityClass.getName());
+            }
+            final EntityType<T> model = root.getModel();
+            Resolved<T, Y> current = resolved;
+            if (current == null || current.model() != model) {
+                current = new Resolved<>(model, resolve(model));
+                resolved = current;
+            }
+            return root.get(current.attribute());
+        }
+
+        @SuppressWarnings("unchecked")
+        private SingularAttribute<? super T, Y> resolve(final EntityType<T> model) {
+            return (SingularAttribute<? super T, Y>) model.getSingularAttribute(name);
+        }
+
+    }
+
+    private record Resolved<T, Y>(EntityType<T> model, SingularAttribute<? super T, Y> attribute) {
+
+    }
+
+}
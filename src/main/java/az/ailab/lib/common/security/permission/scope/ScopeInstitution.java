@@ -0,0 +1,21 @@
+package az.ailab.lib.common.security.permission.scope;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the entity field holding the ID of the institution the row belongs to.
+ * <p>Used for INSTITUTION level filtering by
+ * {@link az.ailab.lib.common.security.permission.AnnotatedPermissionFilterSpecification}.
+ * The field must be a persistent attribute of type {@link Integer}.</p>
+ *
+ * @see RowScope
+ * @since 1.2
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ScopeInstitution {
+
+}
@@ -0,0 +1,21 @@
+package az.ailab.lib.common.security.permission.scope;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the entity field holding the ID of the user who owns the row.
+ * <p>Used for PERSONAL level filtering by
+ * {@link az.ailab.lib.common.security.permission.AnnotatedPermissionFilterSpecification}.
+ * The field must be a persistent attribute of type {@link Long}.</p>
+ *
+ * @see RowScope
+ * @since 1.2
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ScopeOwner {
+
+}
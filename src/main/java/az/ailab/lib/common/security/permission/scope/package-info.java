@@ -0,0 +1,33 @@
+/**
+ * Row scope mapping for permission-aware queries.
+ * <p>This package also declares the Hibernate filter definitions used by {@link RowScopeFilters}. Hibernate only
+ * reads them if the package is part of the persistence unit, e.g. via
+ * {@code @EntityScan(basePackageClasses = {Order.class, RowScopeFilters.class})}.</p>
+ */
+@FilterDef(name = RowScopeFilters.PERSONAL,
+        defaultCondition = "user_id = :" + RowScopeFilters.USER_ID,
+        parameters = @ParamDef(name = RowScopeFilters.USER_ID, type = Long.class))
+@FilterDef(name = RowScopeFilters.DIRECTORATE,
+        defaultCondition = "directorate_id = :" + RowScopeFilters.DIRECTORATE_ID,
+        parameters = {
+                @ParamDef(name = RowScopeFilters.DIRECTORATE_ID, type = Long.class),
+                @ParamDef(name = RowScopeFilters.PATH, type = String.class),
+                @ParamDef(name = RowScopeFilters.PATH_PREFIX, type = String.class)
+        })
+@FilterDef(name = RowScopeFilters.INSTITUTION,
+        defaultCondition = "institution_id = :" + RowScopeFilters.INSTITUTION_ID,
+        parameters = {
+                @ParamDef(name = RowScopeFilters.INSTITUTION_ID, type = Integer.class),
+                @ParamDef(name = RowScopeFilters.PATH, type = String.class),
+                @ParamDef(name = RowScopeFilters.PATH_PREFIX, type = String.class)
+        })
+@FilterDef(name = RowScopeFilters.STRUCTURE,
+        defaultCondition = RowScopeFilters.STRUCTURE_PATH_CONDITION,
+        parameters = {
+                @ParamDef(name = RowScopeFilters.PATH, type = String.class),
+                @ParamDef(name = RowScopeFilters.PATH_PREFIX, type = String.class)
+        })
+package az.ailab.lib.common.security.permission.scope;
+
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
@@ -1,20 +1,23 @@
 package az.ailab.lib.common.security.provider;
 
-import az.ailab.lib.common.security.constants.SecurityConstant;
+import az.ailab.lib.common.security.authority.AuthorityRegistry;
+import az.ailab.lib.common.security.cache.AuthenticationCache;
 import az.ailab.lib.common.security.model.TokenPayload;
 import az.ailab.lib.common.security.util.JwtUtil;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
+import az.ailab.lib.common.security.verifier.TokenVerifier;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtException;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 /**
  * Abstract base for token-based authentication providers.
@@ -22,6 +25,10 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
  * Provides common logic to extract and parse a JWT payload into a {@link TokenPayload} instance,
  * and to map claims into Spring Security authorities. Concrete subclasses must implement how
  * to build an {@link Authentication} object from the parsed payload.</p>
+ * <p>
+ * When an {@link AuthenticationCache} is available, {@link #authenticate(String)} serves repeated
+ * tokens from the cache instead of decoding and rebuilding the principal on every request.
+ * When a {@link TokenVerifier} is available, signatures are verified and expired tokens rejected.</p>
  *
  * @author tahmazovfarid
  * @since 1.0
@@ -35,11 +42,59 @@ public abstract class AbstractTokenProvider {
      */
     private final ObjectMapper objectMapper;
 
+    /**
+     * Optional cache of built authentications, keyed by token fingerprint.
+     */
+    private AuthenticationCache authenticationCache;
+
+    /**
+     * Optional signature verifier; when present only verified, unexpired tokens are authenticated.
+     */
+    private TokenVerifier tokenVerifier;
+
+    /**
+     * Resolves the {@link Authentication} for the given token.
+     * <p>
+     * Returns the cached authentication when the same token was seen before and has not expired yet;
+     * otherwise verifies the signature (if a {@link TokenVerifier} is configured), extracts the payload,
+     * builds the authentication and caches it until the token's {@code exp} claim. Only tokens that
+     * passed verification are cached, so cache hits skip the signature check.
+     * </p>
+     *
+     * @param token the compact JWT string (header.payload.signature)
+     * @return an {@link Optional} containing the {@link Authentication}, or {@link Optional#empty()}
+     *         if the token failed verification or the payload could not be processed
+     */
+    public Optional<Authentication> authenticate(final String token) {
+        if (authenticationCache != null) {
+            final Optional<Authentication> cached = authenticationCache.get(token);
+            if (cached.isPresent()) {
+                return cached;
+            }
+        }
+
+        if (!isSignatureValid(token)) {
+            return Optional.empty();
+        }
+
+        return extractPayload(token)
+                .filter(this::isNotExpired)
+                .map(payload -> {
+                    final Authentication authentication = buildAuthentication(payload, token);
+                    if (authenticationCache != null) {
+                        authenticationCache.put(token, authentication, payload.getExpirationTime());
+                    }
+                    return authentication;
+                });
+    }
+
     /**
      * Extracts and parses a JWT payload without verifying signature.
      * <p>
-     * Decodes the Base64Url payload section, converts it to a JSON tree, and
-     * maps it into a {@link TokenPayload} object.
+     * Decodes the Base64Url payload section into a reusable buffer and streams the bytes into a
+     * {@link TokenPayload} object in a single pass, without intermediate strings or a JSON tree. Subclasses that need
+     * {@link TokenPayload#getPayloadNode()} can override this method and use
+     * {@link TokenPayload#fromJsonNode(com.fasterxml.jackson.databind.JsonNode)} instead.
      * </p>
      *
      * @param token the compact JWT string (header.payload.signature)
@@ -48,15 +103,28 @@ public abstract class AbstractTokenProvider {
      */
     public Optional<TokenPayload> extractPayload(final String token) {
         try {
-            final String payloadJson = JwtUtil.decodePayloadNoVerify(token);
-            final JsonNode payloadNode = objectMapper.readTree(payloadJson);
-            return Optional.of(TokenPayload.fromJsonNode(payloadNode));
-        } catch (JsonProcessingException ex) {
+            return Optional.of(JwtUtil.readPayloadNoVerify(token, this::readPayload));
+        } catch (IOException ex) {
             log.error("Error processing payload JSON, message: {}", ex.getMessage());
             return Optional.empty();
         }
     }
 
+    /**
+     * Streams a decoded payload byte range into a {@link TokenPayload}.
+     *
+     * @param buffer the decoded payload bytes
+     * @param offset the start of the payload in the buffer
+     * @param length the payload length
+     * @return the parsed {@link TokenPayload}
+     * @throws IOException if the payload is not well-formed JSON
+     */
+    private TokenPayload readPayload(final byte[] buffer, final int offset, final int length) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(buffer, offset, length)) {
+            return TokenPayload.fromJsonParser(parser);
+        }
+    }
+
     /**
      * Builds a Spring Security {@link Authentication} object from the given token payload.
      * <p>
@@ -69,11 +137,26 @@ public abstract class AbstractTokenProvider {
      */
     public abstract Authentication buildAuthentication(final TokenPayload tokenPayload);
 
+    /**
+     * Builds the {@link Authentication} for a payload together with the raw token it was read from.
+     * <p>
+     * Called by {@link #authenticate(String)}. The default ignores the token; override it to keep the token on
+     * the authentication, e.g. for forwarding it to other services.
+     * </p>
+     *
+     * @param tokenPayload the parsed JWT payload
+     * @param token        the compact JWT string
+     * @return a populated {@link Authentication} instance representing the authenticated principal
+     */
+    public Authentication buildAuthentication(final TokenPayload tokenPayload, final String token) {
+        return buildAuthentication(tokenPayload);
+    }
+
     /**
      * Maps a role and permission entries into a list of Spring Security authorities.
      * <p>
-     * Prepends a standard prefix to the role name, then adds each permission key as its
-     * own {@link SimpleGrantedAuthority}.</p>
+     * Adds the prefixed role and user type authorities, then each permission key as its own authority.
+     * All instances come from the shared {@link AuthorityRegistry}; only the returned list is allocated.</p>
      *
      * @param roleType the primary role type (without prefix)
      * @param permissions a map of permission identifiers to values (values are ignored here)
@@ -85,14 +168,72 @@ public abstract class AbstractTokenProvider {
             final Map<String, String> permissions) {
         final List<GrantedAuthority> authorities = new ArrayList<>(permissions.size() + 2);
         // Add the role with configured prefix
-        authorities.add(new SimpleGrantedAuthority(SecurityConstant.ROLE_PREFIX + roleType));
-        authorities.add(new SimpleGrantedAuthority(SecurityConstant.ROLE_PREFIX + userType));
+        authorities.add(AuthorityRegistry.role(roleType));
+        authorities.add(AuthorityRegistry.role(userType));
 
         // Add each permission as a separate authority
-        permissions.keySet().stream()
-                .map(SimpleGrantedAuthority::new)
-                .forEach(authorities::add);
+        for (String permission : permissions.keySet()) {
+            authorities.add(AuthorityRegistry.permission(permission));
+        }
         return authorities;
     }
 
+    /**
+     * Checks the token signature when verification is enabled.
+     *
+     * @param token the compact JWT string
+     * @return {@code true} if no verifier is configured or the signature is valid
+     */
+    private boolean isSignatureValid(final String token) {
+        if (tokenVerifier == null) {
+            return true;
+        }
+        try {
+            tokenVerifier.verify(token);
+            return true;
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.debug("JWT verification failed, message: {}", ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Rejects expired tokens when verification is enabled; without a verifier the payload is trusted as-is.
+     *
+     * @param payload the extracted token payload
+     * @return {@code true} if the token may be used
+     */
+    private boolean isNotExpired(final TokenPayload payload) {
+        if (tokenVerifier == null) {
+            return true;
+        }
+        final Long expirationTime = payload.getExpirationTime();
+        final boolean expired = expirationTime != null
+                && System.currentTimeMillis() >= expirationTime * 1000L;
+        if (expired) {
+            log.debug("JWT is expired, subject: {}", payload.getSubject());
+        }
+        return !expired;
+    }
+
+    /**
+     * Sets the cache used by {@link #authenticate(String)}; caching is disabled when absent.
+     *
+     * @param authenticationCache the authentication cache, may be {@code null}
+     */
+    @Autowired(required = false)
+    public void setAuthenticationCache(final AuthenticationCache authenticationCache) {
+        this.authenticationCache = authenticationCache;
+    }
+
+    /**
+     * Sets the verifier used by {@link #authenticate(String)}; signatures are not checked when absent.
+     *
+     * @param tokenVerifier the token verifier, may be {@code null}
+     */
+    @Autowired(required = false)
+    public void setTokenVerifier(final TokenVerifier tokenVerifier) {
+        this.tokenVerifier = tokenVerifier;
+    }
+
 }
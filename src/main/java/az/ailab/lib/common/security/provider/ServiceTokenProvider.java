@@ -0,0 +1,216 @@
+package az.ailab.lib.common.security.provider;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mints short-lived, HMAC-signed service tokens for outbound calls to other services.
+ * <p>
+ * One token is kept per target client. The clients are {@linkplain #warmUp(Collection) warmed up} at
+ * configuration time, and every token is re-minted by a single daemon thread {@code refreshAhead} before it
+ * expires and published with a plain map write, so request threads only read the current token and never
+ * wait on signing. If refreshing keeps failing, the last token is served while the refresh is retried.
+ * Clients removed from the configuration are {@linkplain #retainOnly(Collection) retired} with their
+ * scheduled refresh.</p>
+ * <p>Tokens carry {@code sub} (this service), {@code aud} (the target client), {@code iat}, {@code exp},
+ * a unique {@code jti} and, when configured, a {@code kid} header, so they can be checked with
+ * {@link az.ailab.lib.common.security.verifier.JwtVerifier} by the receiving service.</p>
+ *
+ * @since 1.2
+ */
+@Slf4j
+public class ServiceTokenProvider implements Closeable {
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final String serviceName;
+    private volatile SigningKey signingKey;
+    private final Duration ttl;
+    private final Duration refreshAhead;
+    private final Clock clock;
+    private final ConcurrentMap<String, String> tokens = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ScheduledFuture<?>> refreshes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Creates the provider with a Base64-encoded HMAC secret.
+     *
+     * @param serviceName  the name of this service, used as the token subject
+     * @param keyId        the {@code kid} header value, may be {@code null}
+     * @param secret       the Base64-encoded signing secret
+     * @param ttl          the lifetime of each token
+     * @param refreshAhead how long before expiry a token is replaced; must be shorter than {@code ttl}
+     * @throws IllegalArgumentException if the secret is too weak or the durations are inconsistent
+     */
+    public ServiceTokenProvider(final String serviceName,
+                                final String keyId,
+                                final String secret,
+                                final Duration ttl,
+                                final Duration refreshAhead) {
+        this(serviceName, keyId, Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret)), ttl, refreshAhead,
+                Clock.systemUTC());
+    }
+
+    ServiceTokenProvider(final String serviceName,
+                         final String keyId,
+                         final SecretKey secretKey,
+                         final Duration ttl,
+                         final Duration refreshAhead,
+                         final Clock clock) {
+        if (ttl == null || refreshAhead == null || refreshAhead.isNegative() || refreshAhead.compareTo(ttl) >= 0) {
+            throw new IllegalArgumentException("Service token refresh-ahead must be shorter than its ttl");
+        }
+        this.serviceName = serviceName;
+        this.signingKey = new SigningKey(keyId, secretKey);
+        this.ttl = ttl;
+        this.refreshAhead = refreshAhead;
+        this.clock = clock;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "service-token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the current token for the given target client without signing.
+     *
+     * @param audience the target client name
+     * @return the compact signed JWT
+     * @throws IllegalArgumentException if the client was not {@linkplain #warmUp(Collection) warmed up}
+     */
+    public String getToken(final String audience) {
+        final String token = tokens.get(audience);
+        if (token == null) {
+            throw new IllegalArgumentException("No service token for client '" + audience
+                    + "', add it to clients.security.service-token.clients");
+        }
+        return token;
+    }
+
+    /**
+     * Mints the tokens of the given clients on the calling thread and schedules their refresh.
+     * <p>Called at configuration time and when the configured clients change; clients that already have a
+     * token keep it.</p>
+     *
+     * @param audiences the target client names
+     */
+    public void warmUp(final Collection<String> audiences) {
+        for (String audience : audiences) {
+            if (!tokens.containsKey(audience)) {
+                tokens.putIfAbsent(audience, mint(audience));
+            }
+            refreshes.computeIfAbsent(audience, key -> schedule(key, ttl.minus(refreshAhead)));
+        }
+    }
+
+    /**
+     * Drops the tokens of all clients not in the given collection and cancels their scheduled refresh.
+     * <p>Called when the configured clients change; a refresh that is already running for a dropped client
+     * does not publish its token.</p>
+     *
+     * @param audiences the target client names to keep
+     */
+    public void retainOnly(final Collection<String> audiences) {
+        final Set<String> retained = new HashSet<>(audiences);
+        for (String audience : refreshes.keySet()) {
+            if (!retained.contains(audience)) {
+                final ScheduledFuture<?> refresh = refreshes.remove(audience);
+                if (refresh != null) {
+                    refresh.cancel(false);
+                }
+            }
+        }
+        tokens.keySet().retainAll(retained);
+    }
+
+    /**
+     * Switches to a new signing key and re-mints the current tokens with it.
+     * <p>Requests keep reading the previous tokens until their replacement is published, so the receiving
+     * services should accept both keys until the previous tokens have expired.</p>
+     *
+     * @param keyId  the new {@code kid} header value, may be {@code null}
+     * @param secret the new Base64-encoded signing secret
+     * @return {@code true} if the key changed
+     * @throws IllegalArgumentException if the secret is too weak; the previous key stays active
+     */
+    public boolean updateSigningKey(final String keyId, final String secret) {
+        final SigningKey updated = new SigningKey(keyId, Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret)));
+        if (updated.equals(signingKey)) {
+            return false;
+        }
+        signingKey = updated;
+        tokens.replaceAll((audience, token) -> mint(audience));
+        return true;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private String mint(final String audience) {
+        final SigningKey key = signingKey;
+        final Instant issuedAt = clock.instant();
+        final Instant expiresAt = issuedAt.plus(ttl);
+        return Jwts.builder()
+                .setHeaderParam("kid", key.keyId())
+                .setId(UUID.randomUUID().toString())
+                .setSubject(serviceName)
+                .setAudience(audience)
+                .setIssuedAt(Date.from(issuedAt))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(key.secretKey(), SignatureAlgorithm.forSigningKey(key.secretKey()))
+                .compact();
+    }
+
+    private ScheduledFuture<?> schedule(final String audience, final Duration delay) {
+        try {
+            return scheduler.schedule(() -> refresh(audience), Math.max(delay.toMillis(), 0L), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            log.debug("Service token refresh for '{}' not scheduled, provider is closed", audience);
+            return null;
+        }
+    }
+
+    private void refresh(final String audience) {
+        final String token;
+        try {
+            token = mint(audience);
+        } catch (RuntimeException ex) {
+            log.error("Unable to refresh service token for client '{}', retrying, message: {}", audience, ex.getMessage());
+            refreshes.computeIfPresent(audience, (key, previous) -> schedule(key, RETRY_DELAY));
+            return;
+        }
+        // publishes only while the client is still configured, atomically with retainOnly's removal
+        refreshes.computeIfPresent(audience, (key, previous) -> {
+            tokens.put(key, token);
+            return schedule(key, ttl.minus(refreshAhead));
+        });
+    }
+
+    private record SigningKey(String keyId, SecretKey secretKey) {
+
+    }
+
+}
@@ -1,19 +1,19 @@
 package az.ailab.lib.common.security.provider;
 
+import az.ailab.lib.common.security.cache.UserRoleCache;
+import az.ailab.lib.common.security.context.UserAuthenticationToken;
 import az.ailab.lib.common.security.model.TokenPayload;
 import az.ailab.lib.common.security.model.UserPrincipal;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.util.List;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 /**
  * Concrete implementation of {@link AbstractTokenProvider} for standard user tokens.
  * <p>
  * Parses claim data into a {@link UserPrincipal} and wraps it in a
- * {@link UsernamePasswordAuthenticationToken} along with mapped authorities.
+ * {@link UserAuthenticationToken} along with mapped authorities.
  * </p>
  *
  * @author tahmazovfarid
@@ -22,6 +22,11 @@ import org.springframework.stereotype.Component;
 @Component
 public class UserTokenProvider extends AbstractTokenProvider {
 
+    /**
+     * Shares one immutable role and authority list between users with identical roles.
+     */
+    private final UserRoleCache userRoleCache = new UserRoleCache();
+
     /**
      * Constructs the provider with a configured Jackson {@link ObjectMapper} for
      * JSON-to-POJO payload extraction.
@@ -36,7 +41,9 @@ public class UserTokenProvider extends AbstractTokenProvider {
      * Builds a Spring Security {@link Authentication} token from the provided JWT payload.
      * <p>
      * Creates a {@link UserPrincipal} containing user details and roles,
-     * then returns a {@link UsernamePasswordAuthenticationToken} with these authorities.
+     * then returns a {@link UserAuthenticationToken} (a {@link UsernamePasswordAuthenticationToken}
+     * carrying the {@code UserContext} snapshot) with these authorities.
+     * The role and authority list are shared between users with the same role, see {@link UserRoleCache}.
      * </p>
      *
      * @param tokenPayload the parsed JWT payload with user, role, and permission data
@@ -44,18 +51,27 @@ public class UserTokenProvider extends AbstractTokenProvider {
      */
     @Override
     public Authentication buildAuthentication(final TokenPayload tokenPayload) {
-        final List<GrantedAuthority> authorities = mapGrantedAuthorities(
-                tokenPayload.getUserType(),
-                tokenPayload.getRoleType(),
-                tokenPayload.getPermissions()
-        );
-        final UserPrincipal userPrincipal = UserPrincipal.of(tokenPayload, authorities);
-
-        return new UsernamePasswordAuthenticationToken(
-                userPrincipal,
-                "",
-                authorities
-        );
+        return buildAuthentication(tokenPayload, null);
+    }
+
+    /**
+     * Builds the authentication as {@link #buildAuthentication(TokenPayload)} does and keeps the raw token on
+     * its {@code UserContext}, from where outbound Feign calls forward it.
+     *
+     * @param tokenPayload the parsed JWT payload with user, role, and permission data
+     * @param token        the compact JWT string
+     * @return an {@link Authentication} instance ready for authentication context
+     */
+    @Override
+    public Authentication buildAuthentication(final TokenPayload tokenPayload, final String token) {
+        final UserRoleCache.CanonicalRole role = userRoleCache.resolve(tokenPayload, payload -> mapGrantedAuthorities(
+                payload.getUserType(),
+                payload.getRoleType(),
+                payload.getPermissions()
+        ));
+        final UserPrincipal userPrincipal = UserPrincipal.of(tokenPayload, role.role(), role.authorities());
+
+        return new UserAuthenticationToken(userPrincipal, role.authorities(), token);
     }
 
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package az.ailab.lib.common.security.util;
 
+import az.ailab.lib.common.security.authority.AuthorityRegistry;
 import az.ailab.lib.common.security.constants.SecurityConstant;
 import az.ailab.lib.common.security.constants.TokenField;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -9,20 +10,19 @@ import io.jsonwebtoken.Header;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Spliterator;
-import java.util.Spliterators;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 /**
  * Utility methods for parsing, validating, and extracting data from JWTs
@@ -34,6 +34,37 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
  */
 public final class JwtUtil {
 
+    private static final char SEGMENT_SEPARATOR = '.';
+    private static final char PADDING = '=';
+
+    /**
+     * Initial size of the per-thread decode buffer; buffers that grew beyond {@link #MAX_POOLED_BUFFER_SIZE}
+     * are not kept, so an oversized token cannot pin memory to a thread.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 2048;
+    private static final int MAX_POOLED_BUFFER_SIZE = 16 * 1024;
+    private static final ThreadLocal<byte[]> DECODE_BUFFER = ThreadLocal.withInitial(() -> new byte[INITIAL_BUFFER_SIZE]);
+
+    private static final byte[] BASE64_URL_VALUES = new byte[128];
+
+    /**
+     * Parser of the most recently used secret only, so retired secrets are not kept in memory.
+     */
+    private static volatile CachedParser lastParser;
+
+    static {
+        Arrays.fill(BASE64_URL_VALUES, (byte) -1);
+        for (int i = 0; i < 26; i++) {
+            BASE64_URL_VALUES['A' + i] = (byte) i;
+            BASE64_URL_VALUES['a' + i] = (byte) (26 + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            BASE64_URL_VALUES['0' + i] = (byte) (52 + i);
+        }
+        BASE64_URL_VALUES['-'] = 62;
+        BASE64_URL_VALUES['_'] = 63;
+    }
+
     private JwtUtil() {
         /* utility class */
     }
@@ -41,6 +72,7 @@ public final class JwtUtil {
     /**
      * Parses and verifies the given JWT, returning the full {@link Jws} wrapper,
      * which contains header, body (claims), and signature.
+     * <p>The immutable, thread-safe parser of the last used secret is reused; a different secret replaces it.</p>
      *
      * @param token     the compact JWT string ("header.payload.signature")
      * @param secretKey the Base64‑encoded HMAC secret key
@@ -48,12 +80,20 @@ public final class JwtUtil {
      * @throws JwtException if parsing or signature validation fails (expired, tampered, etc.)
      */
     public static Jws<Claims> parseAndValidate(final String token, final String secretKey) {
+        CachedParser cached = lastParser;
+        if (cached == null || !cached.secretKey().equals(secretKey)) {
+            cached = new CachedParser(secretKey, buildParser(secretKey));
+            lastParser = cached;
+        }
+        return cached.parser().parseClaimsJws(token);
+    }
+
+    private static JwtParser buildParser(final String secretKey) {
         final byte[] keyBytes = Base64.getDecoder().decode(secretKey);
 
         return Jwts.parserBuilder()
                 .setSigningKey(Keys.hmacShaKeyFor(keyBytes))
-                .build()
-                .parseClaimsJws(token);
+                .build();
     }
 
     /**
@@ -128,17 +168,14 @@ public final class JwtUtil {
             String roleType = roleNode.path(TokenField.TYPE).asText();
             JsonNode permissionsNode = roleNode.path(TokenField.PERMISSIONS);
 
-            Stream<GrantedAuthority> roleStream = Stream.of(
-                    new SimpleGrantedAuthority(SecurityConstant.ROLE_PREFIX + roleType)
-            );
-
-            Stream<GrantedAuthority> permissionStream = StreamSupport
-                    .stream(Spliterators.spliteratorUnknownSize(
-                            permissionsNode.fieldNames(), Spliterator.ORDERED), false)
-                    .map(SimpleGrantedAuthority::new);
+            List<GrantedAuthority> authorities = new ArrayList<>(permissionsNode.size() + 1);
+            authorities.add(AuthorityRegistry.role(roleType));
 
-            return Stream.concat(roleStream, permissionStream)
-                    .collect(Collectors.toList());
+            Iterator<String> permissionNames = permissionsNode.fieldNames();
+            while (permissionNames.hasNext()) {
+                authorities.add(AuthorityRegistry.permission(permissionNames.next()));
+            }
+            return authorities;
         } catch (Exception e) {
             throw new IllegalStateException("Failed to extract permissions from JWT", e);
         }
@@ -176,15 +213,191 @@ public final class JwtUtil {
      * @return the Base64‑decoded payload JSON
      */
     public static String decodePayloadNoVerify(String token) {
-        final String[] sections = token.split("\\.");
+        try {
+            return readSegmentNoVerify(token, SecurityConstant.PAYLOAD_INDEX,
+                    (buffer, offset, length) -> new String(buffer, offset, length, StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to decode JWT payload", ex);
+        }
+    }
+
+    /**
+     * Decodes the payload segment without verifying the signature and hands the raw bytes to the reader.
+     * <p>
+     * Segment boundaries are located with index scans and the Base64Url characters are decoded
+     * straight from the token into a per-thread buffer, so no intermediate {@code String} or array
+     * is created. The buffer is only valid for the duration of the {@code reader} call and must not
+     * be retained.
+     * </p>
+     * <strong>Do not use in production for security‑sensitive logic!</strong>
+     *
+     * @param token  the JWT string
+     * @param reader consumer of the decoded payload bytes, e.g. a Jackson parser over the byte range
+     * @param <T>    the type produced by the reader
+     * @return the value produced by the reader
+     * @throws IOException              if the reader fails
+     * @throws IllegalArgumentException if the token is not a three-segment JWT or is not valid Base64Url
+     */
+    public static <T> T readPayloadNoVerify(final String token, final SegmentReader<T> reader) throws IOException {
+        return readSegmentNoVerify(token, SecurityConstant.PAYLOAD_INDEX, reader);
+    }
+
+    /**
+     * Decodes the JOSE header segment without verifying the signature and hands the raw bytes to the reader.
+     * <p>The same buffer rules as {@link #readPayloadNoVerify(String, SegmentReader)} apply.</p>
+     *
+     * @param token  the JWT string
+     * @param reader consumer of the decoded header bytes
+     * @param <T>    the type produced by the reader
+     * @return the value produced by the reader
+     * @throws IOException if the reader fails
+     */
+    public static <T> T readHeaderNoVerify(final String token, final SegmentReader<T> reader) throws IOException {
+        return readSegmentNoVerify(token, SecurityConstant.HEADER_INDEX, reader);
+    }
+
+    /**
+     * Decodes the signature segment and hands the raw signature bytes to the reader.
+     * <p>The same buffer rules as {@link #readPayloadNoVerify(String, SegmentReader)} apply.</p>
+     *
+     * @param token  the JWT string
+     * @param reader consumer of the decoded signature bytes
+     * @param <T>    the type produced by the reader
+     * @return the value produced by the reader
+     * @throws IOException if the reader fails
+     */
+    public static <T> T readSignature(final String token, final SegmentReader<T> reader) throws IOException {
+        return readSegmentNoVerify(token, SecurityConstant.SIGNATURE_INDEX, reader);
+    }
 
-        if (sections.length != 3) {
+    /**
+     * Decodes the given segment (header, payload or signature) of a compact JWT into the per-thread buffer.
+     *
+     * @param token        the JWT string
+     * @param segmentIndex the index of the segment to decode
+     * @param reader       consumer of the decoded bytes
+     * @param <T>          the type produced by the reader
+     * @return the value produced by the reader
+     * @throws IOException if the reader fails
+     */
+    static <T> T readSegmentNoVerify(final String token, final int segmentIndex, final SegmentReader<T> reader)
+            throws IOException {
+        final int firstSeparator = token.indexOf(SEGMENT_SEPARATOR);
+        final int secondSeparator = firstSeparator < 0 ? -1 : token.indexOf(SEGMENT_SEPARATOR, firstSeparator + 1);
+        if (secondSeparator < 0 || token.indexOf(SEGMENT_SEPARATOR, secondSeparator + 1) >= 0) {
             throw new IllegalArgumentException("Invalid JWT format: " + token);
         }
-        final String payload = sections[SecurityConstant.PAYLOAD_INDEX];
-        final byte[] decodedPayload = Base64.getUrlDecoder().decode(payload);
 
-        return new String(decodedPayload, StandardCharsets.UTF_8);
+        final int start;
+        final int end;
+        switch (segmentIndex) {
+            case SecurityConstant.HEADER_INDEX -> {
+                start = 0;
+                end = firstSeparator;
+            }
+            case SecurityConstant.PAYLOAD_INDEX -> {
+                start = firstSeparator + 1;
+                end = secondSeparator;
+            }
+            case SecurityConstant.SIGNATURE_INDEX -> {
+                start = secondSeparator + 1;
+                end = token.length();
+            }
+            default -> throw new IllegalArgumentException("Invalid JWT segment index: " + segmentIndex);
+        }
+        final int decodedLength = decodedLength(token, start, end);
+
+        byte[] buffer = DECODE_BUFFER.get();
+        if (decodedLength > buffer.length) {
+            buffer = new byte[Math.max(decodedLength, buffer.length * 2)];
+            if (buffer.length <= MAX_POOLED_BUFFER_SIZE) {
+                DECODE_BUFFER.set(buffer);
+            }
+        }
+
+        decodeBase64Url(token, start, end, buffer);
+        return reader.read(buffer, 0, decodedLength);
+    }
+
+    /**
+     * Computes the decoded size of a Base64Url character range, ignoring optional trailing padding.
+     */
+    private static int decodedLength(final String token, final int start, final int end) {
+        final int length = unpaddedEnd(token, start, end) - start;
+        final int remainder = length % 4;
+        if (remainder == 1) {
+            throw new IllegalArgumentException("Invalid Base64Url length in JWT segment");
+        }
+        return (length / 4) * 3 + (remainder == 0 ? 0 : remainder - 1);
+    }
+
+    private static int unpaddedEnd(final String token, final int start, final int end) {
+        int unpadded = end;
+        while (unpadded > start && end - unpadded < 2 && token.charAt(unpadded - 1) == PADDING) {
+            unpadded--;
+        }
+        return unpadded;
+    }
+
+    /**
+     * Decodes the Base64Url characters {@code token[start, end)} into {@code target} starting at index 0.
+     */
+    private static void decodeBase64Url(final String token, final int start, final int end, final byte[] target) {
+        final int limit = unpaddedEnd(token, start, end);
+        int position = 0;
+        int index = start;
+
+        for (; index + 4 <= limit; index += 4) {
+            final int bits = sextet(token, index) << 18 | sextet(token, index + 1) << 12
+                    | sextet(token, index + 2) << 6 | sextet(token, index + 3);
+            target[position++] = (byte) (bits >> 16);
+            target[position++] = (byte) (bits >> 8);
+            target[position++] = (byte) bits;
+        }
+
+        final int remaining = limit - index;
+        if (remaining >= 2) {
+            int bits = sextet(token, index) << 18 | sextet(token, index + 1) << 12;
+            target[position++] = (byte) (bits >> 16);
+            if (remaining == 3) {
+                bits |= sextet(token, index + 2) << 6;
+                target[position] = (byte) (bits >> 8);
+            }
+        }
+    }
+
+    private static int sextet(final String token, final int index) {
+        final char c = token.charAt(index);
+        final int value = c < BASE64_URL_VALUES.length ? BASE64_URL_VALUES[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("Illegal Base64Url character in JWT segment at index " + index);
+        }
+        return value;
+    }
+
+    private record CachedParser(String secretKey, JwtParser parser) {
+
+    }
+
+    /**
+     * Callback that consumes a decoded JWT segment held in a reusable buffer.
+     *
+     * @param <T> the type produced from the segment bytes
+     */
+    @FunctionalInterface
+    public interface SegmentReader<T> {
+
+        /**
+         * Reads the decoded segment bytes.
+         *
+         * @param buffer the shared decode buffer, valid only during this call
+         * @param offset the start of the decoded bytes
+         * @param length the number of decoded bytes
+         * @return the value produced from the segment
+         * @throws IOException if the bytes cannot be processed
+         */
+        T read(byte[] buffer, int offset, int length) throws IOException;
+
     }
 
 }
@@ -36,10 +36,22 @@ public final class SecurityUtil {
      * @return The access token as a string, or null if no token is present
      */
     public static String getAccessToken() {
-        return getAuthorizationHeaderOpt()
-                .filter(header -> header.startsWith(SecurityConstant.BEARER))
-                .map(header -> header.substring(SecurityConstant.BEARER.length()))
-                .orElse(null);
+        return extractBearerToken(getAuthorizationHeader());
+    }
+
+    /**
+     * Extracts the token from an Authorization header value.
+     *
+     * <p>Shared by the servlet and reactive filters, which read the header from their own request types.</p>
+     *
+     * @param authorizationHeader the Authorization header value, may be null
+     * @return the token without the "Bearer " prefix, or null if the header is not a Bearer header
+     */
+    public static String extractBearerToken(final String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith(SecurityConstant.BEARER)) {
+            return null;
+        }
+        return authorizationHeader.substring(SecurityConstant.BEARER.length());
     }
 
     /**
@@ -0,0 +1,121 @@
+package az.ailab.lib.common.security.verifier;
+
+import az.ailab.lib.common.security.util.JwtUtil;
+import com.fasterxml.jackson.core.JsonFactory;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Base class for verifiers that check a compact JWS against a set of pre-built keys.
+ * <p>
+ * Reads the {@code alg} and {@code kid} header fields with a streaming parser, decodes the signature
+ * and copies the signing input ({@code header.payload}) into a per-thread buffer, then asks the
+ * subclass to check the signature against each candidate key. No parser, key or payload object is
+ * created per call.</p>
+ *
+ * @param <K> the prepared key type held by the subclass
+ * @since 1.2
+ */
+public abstract class AbstractJwsVerifier<K> implements TokenVerifier {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int INITIAL_BUFFER_SIZE = 2048;
+    private static final int MAX_POOLED_BUFFER_SIZE = 16 * 1024;
+    private static final ThreadLocal<byte[]> SIGNING_INPUT = ThreadLocal.withInitial(() -> new byte[INITIAL_BUFFER_SIZE]);
+
+    @Override
+    public void verify(final String token) {
+        final TokenHeader header = readHeader(token);
+        final JwsAlgorithm algorithm = JwsAlgorithm.fromHeader(header.algorithm());
+        if (algorithm == null || !supports(algorithm)) {
+            throw new UnsupportedJwtException("Unsupported JWS algorithm: " + header.algorithm());
+        }
+
+        final Collection<K> keys = resolveKeys(header.keyId(), algorithm);
+        if (keys.isEmpty()) {
+            throw new SignatureException("No verification key configured for key id: " + header.keyId());
+        }
+
+        final byte[] signature = readSignature(token);
+        final int inputLength = token.lastIndexOf('.');
+        final byte[] input = signingInput(token, inputLength);
+
+        for (K key : keys) {
+            if (verifySignature(algorithm, key, input, inputLength, signature)) {
+                return;
+            }
+        }
+        throw new SignatureException("JWT signature does not match any active verification key");
+    }
+
+    /**
+     * Tells whether this verifier can check the given algorithm.
+     *
+     * @param algorithm the algorithm from the token header
+     * @return {@code true} if supported
+     */
+    protected abstract boolean supports(JwsAlgorithm algorithm);
+
+    /**
+     * Returns the keys to try for the token, in order.
+     *
+     * @param keyId     the {@code kid} header value, may be {@code null}
+     * @param algorithm the algorithm from the token header
+     * @return the candidate keys; empty if none is configured
+     */
+    protected abstract Collection<K> resolveKeys(String keyId, JwsAlgorithm algorithm);
+
+    /**
+     * Checks the signature of the signing input against a single key.
+     *
+     * @param algorithm   the algorithm from the token header
+     * @param key         the candidate key
+     * @param input       buffer holding the ASCII signing input
+     * @param inputLength the number of valid bytes in {@code input}
+     * @param signature   the decoded JWS signature
+     * @return {@code true} if the signature matches
+     */
+    protected abstract boolean verifySignature(JwsAlgorithm algorithm, K key, byte[] input, int inputLength,
+                                               byte[] signature);
+
+    private static TokenHeader readHeader(final String token) {
+        try {
+            return JwtUtil.readHeaderNoVerify(token,
+                    (buffer, offset, length) -> TokenHeader.parse(JSON_FACTORY, buffer, offset, length));
+        } catch (IOException ex) {
+            throw new MalformedJwtException("Unable to read JWT header: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static byte[] readSignature(final String token) {
+        try {
+            return JwtUtil.readSignature(token,
+                    (buffer, offset, length) -> Arrays.copyOfRange(buffer, offset, offset + length));
+        } catch (IOException ex) {
+            throw new MalformedJwtException("Unable to read JWT signature: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static byte[] signingInput(final String token, final int length) {
+        byte[] buffer = SIGNING_INPUT.get();
+        if (length > buffer.length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+            if (buffer.length <= MAX_POOLED_BUFFER_SIZE) {
+                SIGNING_INPUT.set(buffer);
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            final char c = token.charAt(i);
+            if (c > 0x7F) {
+                throw new MalformedJwtException("JWT contains a non-ASCII character at index " + i);
+            }
+            buffer[i] = (byte) c;
+        }
+        return buffer;
+    }
+
+}
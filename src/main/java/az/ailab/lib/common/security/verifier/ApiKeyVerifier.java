@@ -0,0 +1,115 @@
+package az.ailab.lib.common.security.verifier;
+
+import az.ailab.lib.common.security.context.ServiceAuthenticationToken;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Verifies the {@code X-Service-Name}/{@code X-Client-Api-Key} pair sent by other services' Feign clients.
+ * <p>
+ * The configured keys are hashed with SHA-256 into an index keyed by service name. Verifying a request is a
+ * map lookup, one SHA-256 of the presented key with a per-thread digest and a constant-time comparison against
+ * each accepted digest of the service, so neither the plain key nor the position of the first differing byte
+ * can be learned from response times. A valid key yields a new {@link ServiceAuthenticationToken}.</p>
+ * <p>A service may have several accepted keys while it rotates to a new one. The index is an immutable snapshot
+ * replaced as a whole by {@link #update(Map)}, so verifications never lock.</p>
+ *
+ * <pre>
+ * users:
+ *   security:
+ *     service-authentication:
+ *       enabled: true
+ *       api-keys:
+ *         order-service: order-service-key
+ *         report-service: report-service-key-new, report-service-key-old
+ * </pre>
+ *
+ * @since 1.2
+ */
+public class ApiKeyVerifier {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(ApiKeyVerifier::newDigest);
+
+    private volatile Map<String, List<byte[]>> digestsByServiceName;
+
+    /**
+     * Creates the verifier from plain API keys keyed by the calling service's name.
+     *
+     * @param apiKeysByServiceName the accepted keys of each calling service
+     * @throws IllegalArgumentException if a key is blank
+     */
+    public ApiKeyVerifier(final Map<String, ? extends Collection<String>> apiKeysByServiceName) {
+        this.digestsByServiceName = index(apiKeysByServiceName);
+    }
+
+    /**
+     * Replaces the accepted keys.
+     *
+     * @param apiKeysByServiceName the accepted keys of each calling service
+     * @throws IllegalArgumentException if a key is blank; the previous keys stay active
+     */
+    public void update(final Map<String, ? extends Collection<String>> apiKeysByServiceName) {
+        this.digestsByServiceName = index(apiKeysByServiceName);
+    }
+
+    /**
+     * Checks the API key presented by a calling service.
+     *
+     * @param serviceName the value of the {@code X-Service-Name} header
+     * @param apiKey      the value of the {@code X-Client-Api-Key} header
+     * @return a new authentication of the service, or {@link Optional#empty()} if the service is unknown or the key is wrong
+     */
+    public Optional<Authentication> verify(final String serviceName, final String apiKey) {
+        if (serviceName == null || apiKey == null) {
+            return Optional.empty();
+        }
+        final List<byte[]> acceptedDigests = digestsByServiceName.get(serviceName);
+        if (acceptedDigests == null) {
+            return Optional.empty();
+        }
+        final byte[] digest = digest(apiKey);
+        for (byte[] accepted : acceptedDigests) {
+            if (MessageDigest.isEqual(accepted, digest)) {
+                return Optional.of(new ServiceAuthenticationToken(serviceName));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Map<String, List<byte[]>> index(final Map<String, ? extends Collection<String>> apiKeysByServiceName) {
+        final Map<String, List<byte[]>> index = new HashMap<>();
+        apiKeysByServiceName.forEach((serviceName, apiKeys) -> {
+            final List<byte[]> digests = new ArrayList<>(apiKeys.size());
+            for (String apiKey : apiKeys) {
+                if (apiKey == null || apiKey.isBlank()) {
+                    throw new IllegalArgumentException("API key of service '" + serviceName + "' must not be blank");
+                }
+                digests.add(digest(apiKey));
+            }
+            index.put(serviceName, List.copyOf(digests));
+        });
+        return Map.copyOf(index);
+    }
+
+    private static byte[] digest(final String apiKey) {
+        return DIGEST.get().digest(apiKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is not available", ex);
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package az.ailab.lib.common.security.verifier;
+
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the public keys parsed from a JWKS document.
+ * <p>Keys are indexed by {@code kid} and pre-split by family, so picking candidates for a token
+ * is a single map lookup or a precomputed list.</p>
+ *
+ * @param keysById public keys by {@code kid}
+ * @param rsaKeys  all RSA keys, in document order
+ * @param ecKeys   all EC keys, in document order
+ * @since 1.2
+ */
+public record JwksKeySet(Map<String, PublicKey> keysById,
+                         List<PublicKey> rsaKeys,
+                         List<PublicKey> ecKeys) {
+
+    public static final JwksKeySet EMPTY = new JwksKeySet(Map.of(), List.of(), List.of());
+
+    public JwksKeySet {
+        keysById = Map.copyOf(keysById);
+        rsaKeys = List.copyOf(rsaKeys);
+        ecKeys = List.copyOf(ecKeys);
+    }
+
+    /**
+     * Returns the keys that can verify the given algorithm.
+     *
+     * @param keyId     the {@code kid} header value, may be {@code null}
+     * @param algorithm the algorithm from the token header
+     * @return the matching key, or every key of the algorithm's family when no {@code kid} is given
+     */
+    public List<PublicKey> candidates(final String keyId, final JwsAlgorithm algorithm) {
+        if (keyId == null) {
+            return algorithm.isRsa() ? rsaKeys : algorithm.isEcdsa() ? ecKeys : List.of();
+        }
+        final PublicKey key = keysById.get(keyId);
+        return key != null && isCompatible(key, algorithm) ? List.of(key) : List.of();
+    }
+
+    public int size() {
+        return rsaKeys.size() + ecKeys.size();
+    }
+
+    private static boolean isCompatible(final PublicKey key, final JwsAlgorithm algorithm) {
+        return (algorithm.isRsa() && key instanceof RSAPublicKey)
+                || (algorithm.isEcdsa() && key instanceof ECPublicKey);
+    }
+
+}
@@ -0,0 +1,224 @@
+package az.ailab.lib.common.security.verifier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+
+/**
+ * Loads a JWKS document from a file or classpath {@link Resource} and keeps the parsed keys in memory.
+ * <p>
+ * The parsed {@link JwksKeySet} is an immutable snapshot published through a volatile field, so request
+ * threads never block on loading. For file-backed resources a single daemon thread checks the modification
+ * time every {@code refreshInterval} and swaps in a freshly parsed snapshot when the file changed; a
+ * document that fails to parse is logged and the previous keys stay active.</p>
+ * <p>Only RSA keys and EC keys on P-256, P-384 and P-521 with {@code use} absent or {@code sig} are kept.</p>
+ *
+ * @since 1.2
+ */
+@Slf4j
+public class JwksKeySetLoader implements Closeable {
+
+    private static final Map<String, String> EC_CURVES = Map.of(
+            "P-256", "secp256r1",
+            "P-384", "secp384r1",
+            "P-521", "secp521r1"
+    );
+
+    private final Resource resource;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile JwksKeySet keySet = JwksKeySet.EMPTY;
+    private volatile long lastModified;
+
+    /**
+     * Loads the key set and, for file resources, schedules background refreshes.
+     *
+     * @param resource        the JWKS document location
+     * @param objectMapper    the mapper used to read the document
+     * @param refreshInterval how often to check the file for changes; {@code null} or zero disables refresh
+     * @throws IllegalStateException if the document cannot be loaded at startup
+     */
+    public JwksKeySetLoader(final Resource resource, final ObjectMapper objectMapper, final Duration refreshInterval) {
+        this.resource = resource;
+        this.objectMapper = objectMapper;
+
+        try {
+            reload();
+        } catch (IOException | RuntimeException ex) {
+            throw new IllegalStateException("Unable to load JWKS from " + resource.getDescription(), ex);
+        }
+
+        if (refreshInterval != null && !refreshInterval.isZero() && !refreshInterval.isNegative() && resource.isFile()) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "jwks-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final long intervalMillis = refreshInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * Returns the current key set snapshot.
+     *
+     * @return the active {@link JwksKeySet}
+     */
+    public JwksKeySet getKeySet() {
+        return keySet;
+    }
+
+    /**
+     * Reloads the document if its modification time changed since the last load.
+     *
+     * @return {@code true} if a new snapshot was published
+     * @throws IOException if the document cannot be read
+     */
+    public boolean reloadIfModified() throws IOException {
+        if (resource.lastModified() == lastModified) {
+            return false;
+        }
+        reload();
+        return true;
+    }
+
+    /**
+     * Unconditionally reads and parses the document and publishes the new snapshot.
+     *
+     * @throws IOException if the document cannot be read
+     */
+    public void reload() throws IOException {
+        final long modified = resource.isFile() ? resource.lastModified() : 0L;
+        final JsonNode document;
+        try (InputStream inputStream = resource.getInputStream()) {
+            document = objectMapper.readTree(inputStream);
+        }
+
+        final JwksKeySet parsed = parse(document);
+        this.keySet = parsed;
+        this.lastModified = modified;
+        log.info("Loaded {} JWKS verification key(s) from {}", parsed.size(), resource.getDescription());
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            reloadIfModified();
+        } catch (IOException | RuntimeException ex) {
+            log.error("Unable to refresh JWKS from {}, keeping previous keys, message: {}",
+                    resource.getDescription(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Parses the {@code keys} array of a JWKS document.
+     *
+     * @param document the JWKS JSON document
+     * @return the parsed key set
+     */
+    static JwksKeySet parse(final JsonNode document) {
+        final Map<String, PublicKey> keysById = new HashMap<>();
+        final List<PublicKey> rsaKeys = new ArrayList<>();
+        final List<PublicKey> ecKeys = new ArrayList<>();
+
+        for (JsonNode jwk : document.path("keys")) {
+            final String use = jwk.path("use").asText("sig");
+            if (!"sig".equals(use)) {
+                continue;
+            }
+
+            final PublicKey publicKey;
+            try {
+                publicKey = toPublicKey(jwk);
+            } catch (GeneralSecurityException | IllegalArgumentException ex) {
+                log.warn("Skipping invalid JWK with kid '{}', message: {}", jwk.path("kid").asText(null), ex.getMessage());
+                continue;
+            }
+            if (publicKey == null) {
+                continue;
+            }
+
+            if (publicKey instanceof RSAPublicKey) {
+                rsaKeys.add(publicKey);
+            } else {
+                ecKeys.add(publicKey);
+            }
+            final String keyId = jwk.path("kid").asText(null);
+            if (keyId != null) {
+                keysById.put(keyId, publicKey);
+            }
+        }
+
+        return new JwksKeySet(keysById, rsaKeys, ecKeys);
+    }
+
+    private static PublicKey toPublicKey(final JsonNode jwk) throws GeneralSecurityException {
+        final String keyType = jwk.path("kty").asText();
+        switch (keyType) {
+            case "RSA" -> {
+                final RSAPublicKeySpec spec = new RSAPublicKeySpec(
+                        unsignedInteger(jwk, "n"),
+                        unsignedInteger(jwk, "e"));
+                return KeyFactory.getInstance("RSA").generatePublic(spec);
+            }
+            case "EC" -> {
+                final String curve = EC_CURVES.get(jwk.path("crv").asText());
+                if (curve == null) {
+                    throw new IllegalArgumentException("Unsupported EC curve: " + jwk.path("crv").asText());
+                }
+                final AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+                parameters.init(new ECGenParameterSpec(curve));
+                final ECPublicKeySpec spec = new ECPublicKeySpec(
+                        new ECPoint(unsignedInteger(jwk, "x"), unsignedInteger(jwk, "y")),
+                        parameters.getParameterSpec(ECParameterSpec.class));
+                return KeyFactory.getInstance("EC").generatePublic(spec);
+            }
+            default -> {
+                log.debug("Ignoring JWK with unsupported key type: {}", keyType);
+                return null;
+            }
+        }
+    }
+
+    private static BigInteger unsignedInteger(final JsonNode jwk, final String field) {
+        final String value = jwk.path(field).asText(null);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing JWK parameter: " + field);
+        }
+        return new BigInteger(1, Base64.getUrlDecoder().decode(value));
+    }
+
+}
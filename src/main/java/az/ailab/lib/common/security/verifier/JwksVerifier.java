@@ -0,0 +1,127 @@
+package az.ailab.lib.common.security.verifier;
+
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Collection;
+
+/**
+ * RSA (RS256/RS384/RS512) and ECDSA (ES256/ES384/ES512) signature verifier backed by a JWKS key set.
+ * <p>
+ * Lets services verify tokens issued by the auth server with its public keys, without sharing the HMAC
+ * secret. Keys are looked up by {@code kid} in the current {@link JwksKeySetLoader} snapshot; tokens
+ * without a {@code kid} are checked against every key of the matching family. One {@link Signature}
+ * engine is kept per thread and algorithm.</p>
+ *
+ * <pre>
+ * users:
+ *   security:
+ *     verification:
+ *       enabled: true
+ *       jwks-location: file:/etc/auth/jwks.json
+ *       jwks-refresh-interval: 1m
+ * </pre>
+ *
+ * @since 1.2
+ */
+public class JwksVerifier extends AbstractJwsVerifier<PublicKey> {
+
+    private final JwksKeySetLoader keySetLoader;
+    private final ThreadLocal<Signature[]> signatures =
+            ThreadLocal.withInitial(() -> new Signature[JwsAlgorithm.values().length]);
+
+    public JwksVerifier(final JwksKeySetLoader keySetLoader) {
+        this.keySetLoader = keySetLoader;
+    }
+
+    @Override
+    protected boolean supports(final JwsAlgorithm algorithm) {
+        return algorithm.isRsa() || algorithm.isEcdsa();
+    }
+
+    @Override
+    protected Collection<PublicKey> resolveKeys(final String keyId, final JwsAlgorithm algorithm) {
+        return keySetLoader.getKeySet().candidates(keyId, algorithm);
+    }
+
+    @Override
+    protected boolean verifySignature(final JwsAlgorithm algorithm, final PublicKey key, final byte[] input,
+                                      final int inputLength, final byte[] signature) {
+        final byte[] encodedSignature = algorithm.isEcdsa()
+                ? joseToDer(signature, algorithm.ecSignatureLength())
+                : signature;
+        if (encodedSignature == null) {
+            return false;
+        }
+
+        try {
+            final Signature engine = engine(algorithm);
+            engine.initVerify(key);
+            engine.update(input, 0, inputLength);
+            return engine.verify(encodedSignature);
+        } catch (GeneralSecurityException ex) {
+            return false;
+        }
+    }
+
+    private Signature engine(final JwsAlgorithm algorithm) throws GeneralSecurityException {
+        final Signature[] perAlgorithm = signatures.get();
+        Signature engine = perAlgorithm[algorithm.ordinal()];
+        if (engine == null) {
+            engine = Signature.getInstance(algorithm.jcaName());
+            perAlgorithm[algorithm.ordinal()] = engine;
+        }
+        return engine;
+    }
+
+    /**
+     * Converts a JOSE ECDSA signature (R || S, fixed length) into the ASN.1 DER form expected by the JCA.
+     *
+     * @param jose           the raw JOSE signature
+     * @param expectedLength the signature length for the algorithm
+     * @return the DER encoded signature, or {@code null} if the length is wrong
+     */
+    static byte[] joseToDer(final byte[] jose, final int expectedLength) {
+        if (jose.length != expectedLength) {
+            return null;
+        }
+        final int half = expectedLength / 2;
+        final byte[] r = derInteger(jose, 0, half);
+        final byte[] s = derInteger(jose, half, half);
+
+        final int sequenceLength = 2 + r.length + 2 + s.length;
+        final int headerLength = sequenceLength >= 128 ? 3 : 2;
+        final byte[] der = new byte[headerLength + sequenceLength];
+
+        int position = 0;
+        der[position++] = 0x30;
+        if (sequenceLength >= 128) {
+            der[position++] = (byte) 0x81;
+        }
+        der[position++] = (byte) sequenceLength;
+        position = writeInteger(der, position, r);
+        writeInteger(der, position, s);
+        return der;
+    }
+
+    private static byte[] derInteger(final byte[] source, final int offset, final int length) {
+        int start = offset;
+        final int end = offset + length;
+        while (start < end - 1 && source[start] == 0) {
+            start++;
+        }
+        final boolean needsPadding = (source[start] & 0x80) != 0;
+        final byte[] integer = new byte[end - start + (needsPadding ? 1 : 0)];
+        System.arraycopy(source, start, integer, needsPadding ? 1 : 0, end - start);
+        return integer;
+    }
+
+    private static int writeInteger(final byte[] target, final int offset, final byte[] integer) {
+        int position = offset;
+        target[position++] = 0x02;
+        target[position++] = (byte) integer.length;
+        System.arraycopy(integer, 0, target, position, integer.length);
+        return position + integer.length;
+    }
+
+}
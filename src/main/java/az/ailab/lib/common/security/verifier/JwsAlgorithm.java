@@ -0,0 +1,71 @@
+package az.ailab.lib.common.security.verifier;
+
+/**
+ * JWS signature algorithms supported by the token verifiers, with their JCA names.
+ *
+ * @since 1.2
+ */
+public enum JwsAlgorithm {
+
+    HS256("HmacSHA256", 0),
+    HS384("HmacSHA384", 0),
+    HS512("HmacSHA512", 0),
+    RS256("SHA256withRSA", 0),
+    RS384("SHA384withRSA", 0),
+    RS512("SHA512withRSA", 0),
+    ES256("SHA256withECDSA", 64),
+    ES384("SHA384withECDSA", 96),
+    ES512("SHA512withECDSA", 132);
+
+    private final String jcaName;
+    private final int ecSignatureLength;
+
+    JwsAlgorithm(final String jcaName, final int ecSignatureLength) {
+        this.jcaName = jcaName;
+        this.ecSignatureLength = ecSignatureLength;
+    }
+
+    public String jcaName() {
+        return jcaName;
+    }
+
+    /**
+     * Length of the JOSE (R || S) signature for ECDSA algorithms, {@code 0} otherwise.
+     *
+     * @return the raw ECDSA signature length in bytes
+     */
+    public int ecSignatureLength() {
+        return ecSignatureLength;
+    }
+
+    public boolean isHmac() {
+        return this == HS256 || this == HS384 || this == HS512;
+    }
+
+    public boolean isRsa() {
+        return this == RS256 || this == RS384 || this == RS512;
+    }
+
+    public boolean isEcdsa() {
+        return ecSignatureLength > 0;
+    }
+
+    /**
+     * Resolves the algorithm from the JOSE {@code alg} header value.
+     *
+     * @param name the header value, e.g. {@code HS256}
+     * @return the matching algorithm, or {@code null} if it is unknown
+     */
+    public static JwsAlgorithm fromHeader(final String name) {
+        if (name == null) {
+            return null;
+        }
+        for (JwsAlgorithm algorithm : values()) {
+            if (algorithm.name().equals(name)) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+
+}
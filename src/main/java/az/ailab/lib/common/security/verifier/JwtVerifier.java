@@ -0,0 +1,141 @@
+package az.ailab.lib.common.security.verifier;
+
+import io.jsonwebtoken.security.Keys;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+/**
+ * HMAC (HS256/HS384/HS512) signature verifier supporting several active secrets for key rotation.
+ * <p>
+ * Secrets are decoded and turned into {@link SecretKey}s once, at construction. Tokens carrying a
+ * {@code kid} header are checked against that key only; tokens without one are checked against every
+ * active key in configuration order, so a new secret can be rolled out before the old one is retired.
+ * Each key keeps one initialised {@link Mac} per thread and algorithm, so verifying a token costs a
+ * single HMAC computation and a constant-time comparison.</p>
+ *
+ * <pre>
+ * users:
+ *   security:
+ *     verification:
+ *       enabled: true
+ *       keys:
+ *         2024-10: base64-secret-current
+ *         2024-04: base64-secret-previous
+ * </pre>
+ *
+ * @since 1.2
+ */
+public class JwtVerifier extends AbstractJwsVerifier<JwtVerifier.HmacKey> {
+
+    private volatile KeySet keySet;
+
+    /**
+     * Creates the verifier from Base64-encoded secrets keyed by key id.
+     *
+     * @param secretsByKeyId the active secrets in preference order; must not be empty
+     * @throws IllegalArgumentException if no secret is given or a secret is too weak for HMAC-SHA
+     */
+    public JwtVerifier(final Map<String, String> secretsByKeyId) {
+        this.keySet = KeySet.of(secretsByKeyId);
+    }
+
+    /**
+     * Replaces the active secrets.
+     * <p>The new keys are prepared first and then published with a single volatile write, so concurrent
+     * verifications see either the old or the new key set, never a mix.</p>
+     *
+     * @param secretsByKeyId the active secrets in preference order; must not be empty
+     * @return {@code true} if the secrets changed
+     * @throws IllegalArgumentException if no secret is given or a secret is too weak for HMAC-SHA
+     */
+    public boolean update(final Map<String, String> secretsByKeyId) {
+        if (keySet.secrets().equals(secretsByKeyId)) {
+            return false;
+        }
+        keySet = KeySet.of(secretsByKeyId);
+        return true;
+    }
+
+    @Override
+    protected boolean supports(final JwsAlgorithm algorithm) {
+        return algorithm.isHmac();
+    }
+
+    @Override
+    protected Collection<HmacKey> resolveKeys(final String keyId, final JwsAlgorithm algorithm) {
+        final KeySet current = keySet;
+        if (keyId == null) {
+            return current.keys();
+        }
+        final HmacKey key = current.keysById().get(keyId);
+        return key != null ? List.of(key) : List.of();
+    }
+
+    @Override
+    protected boolean verifySignature(final JwsAlgorithm algorithm, final HmacKey key, final byte[] input,
+                                      final int inputLength, final byte[] signature) {
+        final Mac mac = key.mac(algorithm);
+        mac.update(input, 0, inputLength);
+        return MessageDigest.isEqual(mac.doFinal(), signature);
+    }
+
+    /**
+     * Immutable snapshot of the configured secrets and their prepared keys.
+     */
+    private record KeySet(Map<String, String> secrets, Map<String, HmacKey> keysById, List<HmacKey> keys) {
+
+        static KeySet of(final Map<String, String> secretsByKeyId) {
+            if (secretsByKeyId == null || secretsByKeyId.isEmpty()) {
+                throw new IllegalArgumentException("At least one verification secret must be configured");
+            }
+
+            final Map<String, HmacKey> byId = new LinkedHashMap<>();
+            secretsByKeyId.forEach((keyId, secret) ->
+                    byId.put(keyId, new HmacKey(keyId, Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret)))));
+
+            return new KeySet(Collections.unmodifiableMap(new LinkedHashMap<>(secretsByKeyId)),
+                    Collections.unmodifiableMap(byId), List.copyOf(byId.values()));
+        }
+
+    }
+
+    /**
+     * A decoded secret with its per-thread, per-algorithm {@link Mac} instances.
+     */
+    static final class HmacKey {
+
+        private final String keyId;
+        private final SecretKey secretKey;
+        private final ThreadLocal<Mac[]> macs = ThreadLocal.withInitial(() -> new Mac[JwsAlgorithm.values().length]);
+
+        HmacKey(final String keyId, final SecretKey secretKey) {
+            this.keyId = keyId;
+            this.secretKey = secretKey;
+        }
+
+        Mac mac(final JwsAlgorithm algorithm) {
+            final Mac[] perAlgorithm = macs.get();
+            Mac mac = perAlgorithm[algorithm.ordinal()];
+            if (mac == null) {
+                try {
+                    mac = Mac.getInstance(algorithm.jcaName());
+                    mac.init(secretKey);
+                } catch (GeneralSecurityException ex) {
+                    throw new IllegalStateException("Unable to initialise " + algorithm + " for key id " + keyId, ex);
+                }
+                perAlgorithm[algorithm.ordinal()] = mac;
+            }
+            return mac;
+        }
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package az.ailab.lib.common.security.verifier;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+
+/**
+ * The JOSE header fields needed to pick a verification key.
+ *
+ * @param algorithm the {@code alg} header value
+ * @param keyId     the {@code kid} header value, may be {@code null}
+ */
+record TokenHeader(String algorithm, String keyId) {
+
+    private static final String ALG = "alg";
+    private static final String KID = "kid";
+
+    /**
+     * Streams the decoded header bytes and picks out {@code alg} and {@code kid}.
+     */
+    static TokenHeader parse(final JsonFactory jsonFactory, final byte[] buffer, final int offset, final int length)
+            throws IOException {
+        String algorithm = null;
+        String keyId = null;
+
+        try (JsonParser parser = jsonFactory.createParser(buffer, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("JWT header is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.currentName();
+                final JsonToken value = parser.nextToken();
+                if (ALG.equals(field) && value == JsonToken.VALUE_STRING) {
+                    algorithm = parser.getText();
+                } else if (KID.equals(field) && value == JsonToken.VALUE_STRING) {
+                    keyId = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        return new TokenHeader(algorithm, keyId);
+    }
+
+}
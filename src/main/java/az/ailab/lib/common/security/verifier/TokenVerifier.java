@@ -0,0 +1,26 @@
+package az.ailab.lib.common.security.verifier;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Verifies the signature of a compact JWT before its payload is trusted.
+ * <p>
+ * When a verifier is registered, {@code AbstractTokenProvider} only builds an authentication for
+ * tokens that pass {@link #verify(String)} and have not expired. Implementations must be thread-safe
+ * and should do all key and parser setup up front, since they run on the request path.</p>
+ *
+ * @since 1.2
+ */
+public interface TokenVerifier {
+
+    /**
+     * Verifies the token signature.
+     *
+     * @param token the compact JWT string (header.payload.signature)
+     * @throws JwtException             if the signature is invalid, the algorithm is unsupported
+     *                                  or no matching key is configured
+     * @throws IllegalArgumentException if the token is not a well-formed compact JWT
+     */
+    void verify(String token);
+
+}
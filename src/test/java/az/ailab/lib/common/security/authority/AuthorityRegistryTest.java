@@ -0,0 +1,41 @@
+package az.ailab.lib.common.security.authority;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import az.ailab.lib.common.security.model.enums.PermissionEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+class AuthorityRegistryTest {
+
+    @Test
+    void role_returnsSharedPrefixedAuthorityForKnownTypes() {
+        GrantedAuthority role = AuthorityRegistry.role("INSTITUTION_ADMIN");
+        GrantedAuthority userType = AuthorityRegistry.role("INSTITUTIONAL");
+
+        assertThat(role.getAuthority()).isEqualTo("ROLE_INSTITUTION_ADMIN");
+        assertThat(userType.getAuthority()).isEqualTo("ROLE_INSTITUTIONAL");
+        assertThat(AuthorityRegistry.role("INSTITUTION_ADMIN")).isSameAs(role);
+    }
+
+    @Test
+    void permission_returnsSharedAuthorityForEnumAndName() {
+        GrantedAuthority byName = AuthorityRegistry.permission("USER_READ");
+
+        assertThat(byName.getAuthority()).isEqualTo("USER_READ");
+        assertThat(AuthorityRegistry.permission(PermissionEnum.USER_READ)).isSameAs(byName);
+    }
+
+    @Test
+    void unknownValues_areInterned() {
+        GrantedAuthority role = AuthorityRegistry.role("LEGACY_ROLE");
+        GrantedAuthority permission = AuthorityRegistry.permission("LEGACY_PERMISSION");
+
+        assertThat(role.getAuthority()).isEqualTo("ROLE_LEGACY_ROLE");
+        assertThat(permission.getAuthority()).isEqualTo("LEGACY_PERMISSION");
+        assertThat(AuthorityRegistry.role("LEGACY_ROLE")).isSameAs(role);
+        assertThat(AuthorityRegistry.permission("LEGACY_PERMISSION")).isSameAs(permission);
+        assertThat(AuthorityRegistry.role(null).getAuthority()).isEqualTo("ROLE_null");
+    }
+
+}
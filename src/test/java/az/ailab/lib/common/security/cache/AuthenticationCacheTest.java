@@ -0,0 +1,68 @@
+package az.ailab.lib.common.security.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+class AuthenticationCacheTest {
+
+    private static final long NOW_SECONDS = 1_700_000_000L;
+
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(NOW_SECONDS * 1000L);
+    }
+
+    @Test
+    void get_returnsCachedAuthenticationUntilExpiration() {
+        AuthenticationCache cache = new AuthenticationCache(10, clock);
+        Authentication authentication = authentication("user");
+
+        cache.put("a.b.c", authentication, NOW_SECONDS + 60);
+
+        assertThat(cache.get("a.b.c")).containsSame(authentication);
+        assertThat(cache.get("a.b.d")).isEmpty();
+
+        when(clock.millis()).thenReturn((NOW_SECONDS + 60) * 1000L);
+
+        assertThat(cache.get("a.b.c")).isEmpty();
+        assertThat(cache.stats()).isEqualTo(new AuthenticationCache.Stats(1, 2, 1, 0));
+    }
+
+    @Test
+    void put_ignoresExpiredOrUnboundedTokens() {
+        AuthenticationCache cache = new AuthenticationCache(10, clock);
+
+        cache.put("expired", authentication("user"), NOW_SECONDS - 1);
+        cache.put("no-exp", authentication("user"), null);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void put_evictsWhenFull() {
+        AuthenticationCache cache = new AuthenticationCache(2, clock);
+
+        cache.put("t1", authentication("u1"), NOW_SECONDS + 60);
+        cache.put("t2", authentication("u2"), NOW_SECONDS + 60);
+        cache.put("t3", authentication("u3"), NOW_SECONDS + 60);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("t3")).isPresent();
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    private static Authentication authentication(final String principal) {
+        return new UsernamePasswordAuthenticationToken(principal, "");
+    }
+
+}
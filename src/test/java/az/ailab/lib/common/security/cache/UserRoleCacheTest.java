@@ -0,0 +1,76 @@
+package az.ailab.lib.common.security.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import az.ailab.lib.common.security.authority.AuthorityRegistry;
+import az.ailab.lib.common.security.contant.TestConstant;
+import az.ailab.lib.common.security.model.TokenPayload;
+import az.ailab.lib.common.security.model.enums.PermissionEnum;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+class UserRoleCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger mappings = new AtomicInteger();
+
+    private UserRoleCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserRoleCache();
+    }
+
+    @Test
+    void resolve_sharesRoleAndAuthoritiesForIdenticalRoles() throws Exception {
+        TokenPayload first = payload();
+        TokenPayload second = payload();
+
+        UserRoleCache.CanonicalRole firstRole = cache.resolve(first, this::authorities);
+        UserRoleCache.CanonicalRole secondRole = cache.resolve(second, this::authorities);
+
+        assertThat(secondRole).isSameAs(firstRole);
+        assertThat(firstRole.role().permissions()).containsKeys(PermissionEnum.USER_READ, PermissionEnum.ORDER_READ);
+        assertThat(mappings).hasValue(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void resolve_returnsImmutableValues() throws Exception {
+        UserRoleCache.CanonicalRole role = cache.resolve(payload(), this::authorities);
+
+        assertThatThrownBy(() -> role.authorities().add(AuthorityRegistry.role("CITIZEN")))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> role.role().permissions().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void resolve_distinguishesPermissionContent() throws Exception {
+        TokenPayload first = payload();
+        TokenPayload second = payload();
+        Map<String, String> permissions = new LinkedHashMap<>(second.getPermissions());
+        permissions.put(PermissionEnum.FLOW_READ.name(), "SYSTEM");
+        second.setPermissions(permissions);
+
+        assertThat(cache.resolve(second, this::authorities)).isNotSameAs(cache.resolve(first, this::authorities));
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    private List<GrantedAuthority> authorities(final TokenPayload payload) {
+        mappings.incrementAndGet();
+        return List.of(AuthorityRegistry.role(payload.getRoleType()));
+    }
+
+    private TokenPayload payload() throws Exception {
+        return TokenPayload.fromJsonNode(objectMapper.readTree(TestConstant.JSON_PAYLOAD));
+    }
+
+}
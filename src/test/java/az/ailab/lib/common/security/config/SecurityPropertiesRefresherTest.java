@@ -0,0 +1,221 @@
+package az.ailab.lib.common.security.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import az.ailab.lib.common.security.cache.AuthenticationCache;
+import az.ailab.lib.common.security.config.annotation.ClientAuth;
+import az.ailab.lib.common.security.config.properties.ClientSecurityProperties;
+import az.ailab.lib.common.security.config.properties.UserSecurityProperties;
+import az.ailab.lib.common.security.constants.SecurityConstant;
+import az.ailab.lib.common.security.interceptor.ClientAuthInterceptor;
+import az.ailab.lib.common.security.provider.ServiceTokenProvider;
+import az.ailab.lib.common.security.verifier.ApiKeyVerifier;
+import az.ailab.lib.common.security.verifier.JwtVerifier;
+import feign.MethodMetadata;
+import feign.RequestTemplate;
+import feign.Target;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+
+class SecurityPropertiesRefresherTest {
+
+    private static final int CALLERS = 8;
+    private static final int ROTATIONS = 200;
+    private static final Target<ReportClient> REPORT_CLIENT = new Target.HardCodedTarget<>(ReportClient.class, "report-client",
+            "http://report-client");
+
+    private final MockEnvironment environment = new MockEnvironment();
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+    private MethodMetadata metadata;
+    private ClientAuthInterceptor interceptor;
+    private ApiKeyVerifier apiKeyVerifier;
+    private SecurityPropertiesRefresher refresher;
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        // stub only: callers invoke it millions of times
+        metadata = mock(MethodMetadata.class, withSettings().stubOnly());
+        when(metadata.method()).thenReturn(ReportClient.class.getMethod("getReport"));
+        interceptor = new ClientAuthInterceptor("order-service", Map.of("report-client", key(0)));
+        apiKeyVerifier = new ApiKeyVerifier(Map.of("order-service", List.of(key(0))));
+        beanFactory.registerSingleton("clientAuthInterceptor", interceptor);
+        beanFactory.registerSingleton("apiKeyVerifier", apiKeyVerifier);
+        refresher = new SecurityPropertiesRefresher(environment, beanFactory);
+        pool = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pool.shutdownNow();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void rotatesKeysUnderLoadWithoutFailedCalls() throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder calls = new LongAdder();
+        LongAdder failures = new LongAdder();
+        List<Future<?>> callers = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            callers.add(pool.submit(() -> {
+                while (running.get()) {
+                    if (apiKeyVerifier.verify("order-service", call()).isEmpty()) {
+                        failures.increment();
+                    }
+                    calls.increment();
+                }
+                return null;
+            }));
+        }
+
+        for (int generation = 1; generation <= ROTATIONS; generation++) {
+            // the receiver accepts the new key before the caller switches to it and drops it two rotations later
+            refresher.refreshUserSecurity(userProperties(key(generation - 2), key(generation - 1), key(generation)));
+            refresher.refreshClientSecurity(clientProperties(key(generation)));
+            Thread.sleep(2);
+        }
+        running.set(false);
+        for (Future<?> caller : callers) {
+            caller.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(failures.sum()).isZero();
+        assertThat(calls.sum()).isGreaterThan(ROTATIONS);
+        assertThat(call()).isEqualTo(key(ROTATIONS));
+        assertThat(apiKeyVerifier.verify("order-service", key(0))).isEmpty();
+    }
+
+    @Test
+    void environmentChangeRebindsKeysAndClearsAuthenticationCache() {
+        String oldSecret = secret("old");
+        JwtVerifier jwtVerifier = new JwtVerifier(Map.of("old", oldSecret));
+        AuthenticationCache authenticationCache = new AuthenticationCache();
+        authenticationCache.put("token", new TestingAuthenticationToken("user", null),
+                Instant.now().plusSeconds(60).getEpochSecond());
+        beanFactory.registerSingleton("tokenVerifier", jwtVerifier);
+        beanFactory.registerSingleton("authenticationCache", authenticationCache);
+
+        environment.setProperty("clients.security.api-keys.report-client", "rotated-key");
+        environment.setProperty("users.security.service-authentication.api-keys.order-service", "rotated-key");
+        environment.setProperty("users.security.verification.keys.new", secret("new"));
+        refresher.onApplicationEvent(new EnvironmentChangeEvent(Set.of("clients.security.api-keys.report-client")));
+
+        assertThat(call()).isEqualTo("rotated-key");
+        assertThat(apiKeyVerifier.verify("order-service", "rotated-key")).isPresent();
+        assertThat(apiKeyVerifier.verify("order-service", key(0))).isEmpty();
+        assertThat(authenticationCache.size()).isZero();
+    }
+
+    @Test
+    void unchangedVerificationKeysKeepAuthenticationCache() {
+        String secret = secret("current");
+        beanFactory.registerSingleton("tokenVerifier", new JwtVerifier(Map.of("current", secret)));
+        AuthenticationCache authenticationCache = new AuthenticationCache();
+        authenticationCache.put("token", new TestingAuthenticationToken("user", null),
+                Instant.now().plusSeconds(60).getEpochSecond());
+        beanFactory.registerSingleton("authenticationCache", authenticationCache);
+
+        UserSecurityProperties properties = userProperties(key(0));
+        properties.getVerification().setKeys(Map.of("current", secret));
+        refresher.refreshUserSecurity(properties);
+
+        assertThat(authenticationCache.size()).isOne();
+    }
+
+    @Test
+    void unboundClientApiKeysClearTheInterceptorKeys() {
+        ClientSecurityProperties properties = new ClientSecurityProperties();
+        properties.setApiKeys(null);
+
+        refresher.refreshClientSecurity(properties);
+
+        RequestTemplate template = new RequestTemplate();
+        template.methodMetadata(metadata);
+        template.feignTarget(REPORT_CLIENT);
+        interceptor.apply(template);
+        assertThat(template.headers()).doesNotContainKey(SecurityConstant.X_Client_API_KEY);
+    }
+
+    @Test
+    void newServiceTokenClientsAreMintedBeforeUse() {
+        try (ServiceTokenProvider provider = new ServiceTokenProvider("order-service", "current", secret("current"),
+                Duration.ofMinutes(5), Duration.ofMinutes(1))) {
+            beanFactory.registerSingleton("serviceTokenProvider", provider);
+
+            ClientSecurityProperties properties = clientProperties(key(0));
+            properties.getServiceToken().setSecret(secret("current"));
+            properties.getServiceToken().setKeyId("current");
+            properties.getServiceToken().setClients(Set.of("report-client"));
+            refresher.refreshClientSecurity(properties);
+
+            assertThat(provider.getToken("report-client")).isNotBlank();
+
+            properties.getServiceToken().setClients(Set.of("user-client"));
+            refresher.refreshClientSecurity(properties);
+
+            assertThat(provider.getToken("user-client")).isNotBlank();
+            assertThatThrownBy(() -> provider.getToken("report-client")).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private String call() {
+        RequestTemplate template = new RequestTemplate();
+        template.methodMetadata(metadata);
+        template.feignTarget(REPORT_CLIENT);
+        interceptor.apply(template);
+        return template.headers().get(SecurityConstant.X_Client_API_KEY).iterator().next();
+    }
+
+    private static ClientSecurityProperties clientProperties(final String apiKey) {
+        ClientSecurityProperties properties = new ClientSecurityProperties();
+        properties.setApiKeys(Map.of("report-client", apiKey));
+        return properties;
+    }
+
+    private static UserSecurityProperties userProperties(final String... apiKeys) {
+        UserSecurityProperties properties = new UserSecurityProperties();
+        properties.getServiceAuthentication().setApiKeys(Map.of("order-service", List.of(apiKeys)));
+        return properties;
+    }
+
+    private static String key(final int generation) {
+        return "key-" + Math.max(generation, 0);
+    }
+
+    private static String secret(final String name) {
+        return Base64.getEncoder().encodeToString((name + "-secret-").repeat(8).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @ClientAuth
+    interface ReportClient {
+
+        Object getReport();
+
+    }
+
+}
@@ -4,6 +4,7 @@ import az.ailab.lib.common.security.model.enums.ActivityType;
 import az.ailab.lib.common.security.model.enums.PermissionEnum;
 import az.ailab.lib.common.security.model.enums.PermissionLevel;
 import az.ailab.lib.common.security.model.enums.RoleType;
+import az.ailab.lib.common.security.model.enums.UserType;
 import java.util.Map;
 
 public class TestConstant {
@@ -21,6 +22,7 @@ public class TestConstant {
     public static final long USER_ID = 1;
     public static final String FIRST_NAME = "Farid";
     public static final String LAST_NAME = "Tahmazov";
+    public static final String USER_TYPE = UserType.INSTITUTIONAL.name();
     public static final String USER_EMAIL = "farid.tahmazov@ailab.az";
     public static final String USER_RANK = "Software Backend engineer";
     public static final String USER_POSITION = "Big specialist";
@@ -45,6 +47,7 @@ public class TestConstant {
                  "exp": 1625184000,
                  "user": {
                      "id": 1,
+                     "type": "INSTITUTIONAL",
                      "firstName": "Farid",
                      "lastName": "Tahmazov",
                      "email": "farid.tahmazov@ailab.az",
@@ -0,0 +1,57 @@
+package az.ailab.lib.common.security.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UserContextFanOutTest {
+
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pool.shutdownNow();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void map_runsCallsWithCallersContextAndKeepsInputOrder() {
+        UserContext context = UserContext.builder().authenticated(true).userId(42L).token("user-token").build();
+        List<Integer> inputs = IntStream.range(0, 200).boxed().toList();
+
+        UserContextScope.runWhere(context, () -> {
+            List<String> results = UserContextFanOut.map(inputs,
+                    input -> input + ":" + UserContextHolder.getContext().getAuthorizationHeader(), pool);
+
+            assertThat(results).containsExactlyElementsOf(inputs.stream().map(input -> input + ":Bearer user-token").toList());
+        });
+
+        assertThat(UserContextScope.current()).isNull();
+    }
+
+    @Test
+    void map_rethrowsFailureOfCall() {
+        IllegalStateException failure = new IllegalStateException("client unavailable");
+
+        assertThatThrownBy(() -> UserContextFanOut.map(List.of(1, 2, 3), input -> {
+            if (input == 2) {
+                throw failure;
+            }
+            return input;
+        }, pool)).isSameAs(failure);
+    }
+
+}
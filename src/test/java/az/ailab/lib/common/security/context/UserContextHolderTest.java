@@ -0,0 +1,77 @@
+package az.ailab.lib.common.security.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import az.ailab.lib.common.security.contant.TestConstant;
+import az.ailab.lib.common.security.model.TokenPayload;
+import az.ailab.lib.common.security.model.UserPrincipal;
+import az.ailab.lib.common.security.model.enums.PermissionEnum;
+import az.ailab.lib.common.security.model.enums.PermissionLevel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class UserContextHolderTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getContext_returnsSnapshotCarriedByAuthentication() throws Exception {
+        UserPrincipal principal = principal();
+        UserAuthenticationToken authentication = new UserAuthenticationToken(principal, List.of());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        UserContext context = UserContextHolder.getContext();
+
+        assertThat(context).isSameAs(authentication.getUserContext());
+        assertThat(context.isAuthenticated()).isTrue();
+        assertThat(context.getPrincipal()).isSameAs(principal);
+        assertThat(context.getScope()).isEqualTo(new UserScope(TestConstant.USER_ID, TestConstant.USER_DIRECTORATE_ID,
+                (int) TestConstant.USER_INSTITUTION_ID, TestConstant.USER_STRUCTURE_PATH));
+        assertThat(context.getPermissionMatrix().levelOf(PermissionEnum.USER_READ)).isEqualTo(PermissionLevel.INSTITUTION);
+        assertThat(UserContextHolder.getUserId()).isEqualTo(TestConstant.USER_ID);
+        assertThat(UserContextHolder.getRoleName()).isEqualTo(TestConstant.USER_ROLE_NAME);
+        assertThat(UserContextHolder.isDirectorateProvider()).isTrue();
+        assertThat(UserContextHolder.isInstitutionProvider()).isTrue();
+    }
+
+    @Test
+    void getContext_reusesSnapshotOfOtherAuthenticationInstance() throws Exception {
+        UserPrincipal principal = principal();
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(principal, "", List.of()));
+
+        UserContext context = UserContextHolder.getContext();
+
+        assertThat(context.getPrincipal()).isSameAs(principal);
+        assertThat(UserContextHolder.getContext()).isSameAs(context);
+
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(principal, "", List.of()));
+        assertThat(UserContextHolder.getContext()).isNotSameAs(context);
+    }
+
+    @Test
+    void getContext_returnsAnonymousWithoutAuthentication() {
+        UserContext context = UserContextHolder.getContext();
+
+        assertThat(context).isSameAs(UserContext.ANONYMOUS);
+        assertThat(context.isAuthenticated()).isFalse();
+        assertThat(UserContextHolder.getCurrentUser()).isEmpty();
+        assertThat(UserContextHolder.getScope().userId()).isNull();
+        assertThat(UserContextHolder.getPermissions()).isEmpty();
+        assertThat(UserContextHolder.isInstitutionProvider()).isFalse();
+    }
+
+    private static UserPrincipal principal() throws Exception {
+        TokenPayload payload = TokenPayload.fromJsonNode(new ObjectMapper().readTree(TestConstant.JSON_PAYLOAD));
+        return UserPrincipal.of(payload, List.of());
+    }
+
+}
@@ -0,0 +1,80 @@
+package az.ailab.lib.common.security.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UserContextScopeTest {
+
+    private static final int CHILD_TASKS = 10_000;
+
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pool.shutdownNow();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void runWhere_bindsAndRestoresContext() {
+        UserContext outer = context(1L);
+        UserContext inner = context(2L);
+
+        UserContextScope.runWhere(outer, () -> {
+            assertThat(UserContextHolder.getUserId()).isEqualTo(1L);
+            UserContextScope.runWhere(inner, () -> assertThat(UserContextHolder.getUserId()).isEqualTo(2L));
+            assertThat(UserContextHolder.getUserId()).isEqualTo(1L);
+        });
+
+        assertThat(UserContextScope.current()).isNull();
+        assertThat(UserContextHolder.getContext()).isSameAs(UserContext.ANONYMOUS);
+    }
+
+    @Test
+    void propagating_makesContextVisibleToAllChildTasks() {
+        Executor executor = UserContextScope.propagating(pool);
+        UserContext parent = context(42L);
+
+        List<CompletableFuture<Long>> children = new ArrayList<>(CHILD_TASKS);
+        UserContextScope.runWhere(parent, () -> {
+            for (int i = 0; i < CHILD_TASKS; i++) {
+                children.add(CompletableFuture.supplyAsync(UserContextHolder::getUserId, executor));
+            }
+        });
+
+        assertThat(children).allSatisfy(child -> assertThat(child.join()).isEqualTo(42L));
+    }
+
+    @Test
+    void wrap_doesNotLeakContextIntoPooledThreads() throws Exception {
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            Runnable task = UserContextScope.callWhere(context(7L), () -> UserContextScope.wrap(() -> { }));
+            single.submit(task).get();
+
+            assertThat(single.submit(UserContextScope::current).get()).isNull();
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    private static UserContext context(final Long userId) {
+        return UserContext.builder().authenticated(true).userId(userId).build();
+    }
+
+}
@@ -0,0 +1,62 @@
+package az.ailab.lib.common.security.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import az.ailab.lib.common.security.constants.SecurityConstant;
+import az.ailab.lib.common.security.verifier.ApiKeyVerifier;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class ApiKeyAuthenticationFilterTest {
+
+    private final ApiKeyAuthenticationFilter filter = new ApiKeyAuthenticationFilter(
+            new ApiKeyVerifier(Map.of("order-service", List.of("order-key"))));
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesServiceWithValidKey() throws Exception {
+        filter.doFilter(request("order-service", "order-key"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("order-service");
+    }
+
+    @Test
+    void leavesRequestUnauthenticatedForWrongKey() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("order-service", "wrong-key"), new MockHttpServletResponse(), chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void keepsExistingUserAuthentication() throws Exception {
+        Authentication user = new TestingAuthenticationToken("user", null, "ROLE_USER");
+        SecurityContextHolder.getContext().setAuthentication(user);
+
+        filter.doFilter(request("order-service", "order-key"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isSameAs(user);
+    }
+
+    private static MockHttpServletRequest request(final String serviceName, final String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(SecurityConstant.X_SERVICE_NAME, serviceName);
+        request.addHeader(SecurityConstant.X_Client_API_KEY, apiKey);
+        return request;
+    }
+
+}
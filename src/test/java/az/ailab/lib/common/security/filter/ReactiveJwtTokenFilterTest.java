@@ -0,0 +1,83 @@
+package az.ailab.lib.common.security.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import az.ailab.lib.common.security.contant.TestConstant;
+import az.ailab.lib.common.security.context.ReactiveUserContextHolder;
+import az.ailab.lib.common.security.context.UserAuthenticationToken;
+import az.ailab.lib.common.security.model.TokenPayload;
+import az.ailab.lib.common.security.model.UserPrincipal;
+import az.ailab.lib.common.security.provider.AbstractTokenProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.test.StepVerifier;
+
+class ReactiveJwtTokenFilterTest {
+
+    private AbstractTokenProvider tokenProvider;
+    private ReactiveJwtTokenFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = mock(AbstractTokenProvider.class);
+        filter = new ReactiveJwtTokenFilter(tokenProvider);
+    }
+
+    @Test
+    void filter_writesAuthenticationIntoReactorContext() throws Exception {
+        TokenPayload payload = TokenPayload.fromJsonNode(new ObjectMapper().readTree(TestConstant.JSON_PAYLOAD));
+        UserAuthenticationToken authentication = new UserAuthenticationToken(UserPrincipal.of(payload, List.of()), List.of());
+        when(tokenProvider.authenticate("token")).thenReturn(Optional.of(authentication));
+
+        AtomicReference<Long> userId = new AtomicReference<>();
+        WebFilterChain chain = exchange -> ReactiveUserContextHolder.getUserId().doOnNext(userId::set).then();
+
+        StepVerifier.create(filter.filter(exchange("Bearer token"), chain)).verifyComplete();
+
+        assertThat(userId.get()).isEqualTo(TestConstant.USER_ID);
+    }
+
+    @Test
+    void filter_continuesAnonymouslyWithoutToken() {
+        AtomicReference<Boolean> authenticated = new AtomicReference<>();
+        WebFilterChain chain = exchange -> ReactiveUserContextHolder.isAuthenticated().doOnNext(authenticated::set).then();
+
+        StepVerifier.create(filter.filter(exchange(null), chain)).verifyComplete();
+
+        assertThat(authenticated.get()).isFalse();
+        verify(tokenProvider, never()).authenticate(anyString());
+    }
+
+    @Test
+    void filter_continuesAnonymouslyWhenTokenIsRejected() {
+        when(tokenProvider.authenticate("bad")).thenReturn(Optional.empty());
+        AtomicReference<Boolean> authenticated = new AtomicReference<>();
+        WebFilterChain chain = exchange -> ReactiveUserContextHolder.isAuthenticated().doOnNext(authenticated::set).then();
+
+        StepVerifier.create(filter.filter(exchange("Bearer bad"), chain)).verifyComplete();
+
+        assertThat(authenticated.get()).isFalse();
+    }
+
+    private static MockServerWebExchange exchange(final String authorization) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/orders");
+        if (authorization != null) {
+            request.header(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+}
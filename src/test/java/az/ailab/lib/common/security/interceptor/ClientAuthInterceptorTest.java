@@ -0,0 +1,144 @@
+package az.ailab.lib.common.security.interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import az.ailab.lib.common.security.config.annotation.ClientAuth;
+import az.ailab.lib.common.security.constants.SecurityConstant;
+import az.ailab.lib.common.security.context.UserContext;
+import az.ailab.lib.common.security.context.UserContextScope;
+import az.ailab.lib.common.security.provider.ServiceTokenProvider;
+import feign.MethodMetadata;
+import feign.RequestTemplate;
+import feign.Target;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+class ClientAuthInterceptorTest {
+
+    private static final Target<UserClient> USER_CLIENT = new Target.HardCodedTarget<>(UserClient.class, "user-client",
+            "http://user-client");
+
+    private Map<String, String> apiKeys;
+    private ClientAuthInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        apiKeys = spy(new HashMap<>(Map.of("user-client", "user-key", "admin-service", "admin-key")));
+        interceptor = new ClientAuthInterceptor("order-service", apiKeys);
+    }
+
+    @Test
+    void apply_addsServiceHeadersFromClassAnnotation() throws NoSuchMethodException {
+        RequestTemplate template = template(UserClient.class.getMethod("getUser"), USER_CLIENT);
+
+        interceptor.apply(template);
+
+        assertThat(template.headers().get(SecurityConstant.X_SERVICE_NAME)).containsExactly("order-service");
+        assertThat(template.headers().get(SecurityConstant.X_Client_API_KEY)).containsExactly("user-key");
+    }
+
+    @Test
+    void apply_prefersMethodAnnotation() throws NoSuchMethodException {
+        RequestTemplate adminTemplate = template(UserClient.class.getMethod("getUsersAsAdmin"), USER_CLIENT);
+        RequestTemplate healthTemplate = template(UserClient.class.getMethod("getHealth"), USER_CLIENT);
+
+        interceptor.apply(adminTemplate);
+        interceptor.apply(healthTemplate);
+
+        assertThat(adminTemplate.headers().get(SecurityConstant.X_Client_API_KEY)).containsExactly("admin-key");
+        assertThat(healthTemplate.headers()).isEmpty();
+    }
+
+    @Test
+    void apply_resolvesApiKeyOncePerMethodAndTarget() throws NoSuchMethodException {
+        Method method = UserClient.class.getMethod("getUser");
+        Target<UserClient> otherTarget = new Target.HardCodedTarget<>(UserClient.class, "other-client", "http://other");
+
+        for (int i = 0; i < 3; i++) {
+            interceptor.apply(template(method, USER_CLIENT));
+        }
+        RequestTemplate otherTemplate = template(method, otherTarget);
+        interceptor.apply(otherTemplate);
+
+        verify(apiKeys, times(1)).get("user-client");
+        verify(apiKeys, times(1)).get("other-client");
+        assertThat(otherTemplate.headers()).doesNotContainKey(SecurityConstant.X_Client_API_KEY);
+    }
+
+    @Test
+    void apply_sendsServiceTokenToConfiguredClients() throws NoSuchMethodException {
+        ServiceTokenProvider serviceTokenProvider = mock(ServiceTokenProvider.class);
+        when(serviceTokenProvider.getToken("user-client")).thenReturn("signed-token");
+        interceptor = new ClientAuthInterceptor("order-service", apiKeys, serviceTokenProvider, Set.of("user-client"));
+
+        RequestTemplate userTemplate = template(UserClient.class.getMethod("getUser"), USER_CLIENT);
+        RequestTemplate adminTemplate = template(UserClient.class.getMethod("getUsersAsAdmin"), USER_CLIENT);
+        interceptor.apply(userTemplate);
+        interceptor.apply(adminTemplate);
+
+        assertThat(userTemplate.headers().get(SecurityConstant.X_SERVICE_TOKEN)).containsExactly("signed-token");
+        assertThat(userTemplate.headers()).doesNotContainKey(SecurityConstant.X_Client_API_KEY);
+        assertThat(adminTemplate.headers().get(SecurityConstant.X_Client_API_KEY)).containsExactly("admin-key");
+        assertThat(adminTemplate.headers()).doesNotContainKey(SecurityConstant.X_SERVICE_TOKEN);
+    }
+
+    @Test
+    void apply_forwardsTokenOfPropagatedUserContext() throws Exception {
+        UserContext context = UserContext.builder().authenticated(true).userId(7L).token("user-token").build();
+        Method method = UserClient.class.getMethod("getUserForwarded");
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            RequestTemplate template = UserContextScope.callWhere(context, () -> CompletableFuture
+                    .supplyAsync(UserContextScope.wrap((Supplier<RequestTemplate>) () -> {
+                        RequestTemplate forwarded = template(method, USER_CLIENT);
+                        interceptor.apply(forwarded);
+                        return forwarded;
+                    }), pool)
+                    .join());
+
+            assertThat(template.headers().get(HttpHeaders.AUTHORIZATION)).containsExactly("Bearer user-token");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static RequestTemplate template(final Method method, final Target<?> target) {
+        MethodMetadata metadata = mock(MethodMetadata.class);
+        when(metadata.method()).thenReturn(method);
+        RequestTemplate template = new RequestTemplate();
+        template.methodMetadata(metadata);
+        template.feignTarget(target);
+        return template;
+    }
+
+    @ClientAuth
+    interface UserClient {
+
+        Object getUser();
+
+        @ClientAuth(enabled = false)
+        Object getHealth();
+
+        @ClientAuth(clientName = "admin-service")
+        Object getUsersAsAdmin();
+
+        @ClientAuth(forwardAuthorizationHeader = true)
+        Object getUserForwarded();
+
+    }
+
+}
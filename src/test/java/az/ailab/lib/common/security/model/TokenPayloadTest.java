@@ -4,9 +4,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import az.ailab.lib.common.security.contant.TestConstant;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -35,6 +37,7 @@ public class TokenPayloadTest {
         assertThat(payload.getUserId()).isEqualTo(TestConstant.USER_ID);
         assertThat(payload.getFirstName()).isEqualTo(TestConstant.FIRST_NAME);
         assertThat(payload.getLastName()).isEqualTo(TestConstant.LAST_NAME);
+        assertThat(payload.getUserType()).isEqualTo(TestConstant.USER_TYPE);
         assertThat(payload.getEmail()).isEqualTo(TestConstant.USER_EMAIL);
         assertThat(payload.getRank()).isEqualTo(TestConstant.USER_RANK);
         assertThat(payload.getPosition()).isEqualTo(TestConstant.USER_POSITION);
@@ -66,4 +69,31 @@ public class TokenPayloadTest {
                 .isInstanceOf(NullPointerException.class);
     }
 
+    @Test
+    void fromJsonParser_matchesJsonNodeParsing() throws IOException {
+        TokenPayload expected = TokenPayload.fromJsonNode(objectMapper.readTree(TestConstant.JSON_PAYLOAD));
+
+        TokenPayload actual;
+        try (JsonParser parser = objectMapper.getFactory().createParser(TestConstant.JSON_PAYLOAD)) {
+            actual = TokenPayload.fromJsonParser(parser);
+        }
+
+        assertThat(actual.getPayloadNode()).isNull();
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .ignoringFields("payloadNode")
+                .isEqualTo(expected);
+    }
+
+    @Test
+    void fromJsonParser_missingRequiredField() throws IOException {
+        String json = TestConstant.JSON_PAYLOAD.replace("\"sub\": \"abcd123\",", "");
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            assertThatThrownBy(() -> TokenPayload.fromJsonParser(parser))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("sub");
+        }
+    }
+
 }
@@ -0,0 +1,45 @@
+package az.ailab.lib.common.security.model.enums;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import az.ailab.lib.common.security.model.vo.InstitutionInfo;
+import org.junit.jupiter.api.Test;
+
+class EnumLookupTest {
+
+    @Test
+    void find_resolvesEveryConstantExactlyAndCaseInsensitively() {
+        for (RankType rankType : RankType.values()) {
+            assertThat(EnumLookup.RANK_TYPE.find(rankType.name())).isSameAs(rankType);
+            assertThat(EnumLookup.RANK_TYPE.find(rankType.name().toLowerCase())).isSameAs(rankType);
+        }
+        for (PermissionEnum permission : PermissionEnum.values()) {
+            assertThat(EnumLookup.PERMISSION.find(permission.name())).isSameAs(permission);
+        }
+        assertThat(EnumLookup.USER_TYPE.find(null)).isNull();
+        assertThat(EnumLookup.ROLE_TYPE.find("UNKNOWN")).isNull();
+    }
+
+    @Test
+    void get_rejectsUnknownValues() {
+        assertThatThrownBy(() -> EnumLookup.PERMISSION_LEVEL.get("GLOBAL"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid permission level: GLOBAL");
+        assertThatThrownBy(() -> EnumLookup.USER_TYPE.get(null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void institutionInfo_resolvesTypesOnConstruction() {
+        InstitutionInfo institution = new InstitutionInfo(1, "FBI", "BOTH", "military", "1/2", null);
+
+        assertThat(institution.resolvedActivityType()).isEqualTo(ActivityType.BOTH);
+        assertThat(institution.getRankType()).isEqualTo(RankType.MILITARY);
+
+        InstitutionInfo invalid = new InstitutionInfo(1, "FBI", "SOMETHING", null, "1/2", null);
+        assertThatThrownBy(invalid::getActivityType).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(invalid::getRankType).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
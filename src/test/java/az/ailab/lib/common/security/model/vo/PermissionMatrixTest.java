@@ -0,0 +1,57 @@
+package az.ailab.lib.common.security.model.vo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import az.ailab.lib.common.security.model.enums.PermissionEnum;
+import az.ailab.lib.common.security.model.enums.PermissionLevel;
+import java.util.EnumMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class PermissionMatrixTest {
+
+    @Test
+    void levelOf_roundTripsEveryPermissionAndLevel() {
+        Map<PermissionEnum, PermissionLevel> permissions = new EnumMap<>(PermissionEnum.class);
+        PermissionLevel[] levels = PermissionLevel.values();
+        for (PermissionEnum permission : PermissionEnum.values()) {
+            permissions.put(permission, levels[permission.ordinal() % levels.length]);
+        }
+
+        PermissionMatrix matrix = PermissionMatrix.of(permissions);
+
+        for (PermissionEnum permission : PermissionEnum.values()) {
+            assertThat(matrix.levelOf(permission)).isEqualTo(permissions.get(permission));
+        }
+        assertThat(matrix.size()).isEqualTo(PermissionEnum.values().length);
+        assertThat(matrix.toMap()).isEqualTo(permissions);
+    }
+
+    @Test
+    void hasAtLeast_comparesLevelWidth() {
+        PermissionMatrix matrix = PermissionMatrix.of(Map.of(PermissionEnum.ORDER_READ, PermissionLevel.DIRECTORATE));
+
+        assertThat(matrix.hasAtLeast(PermissionEnum.ORDER_READ, PermissionLevel.PERSONAL)).isTrue();
+        assertThat(matrix.hasAtLeast(PermissionEnum.ORDER_READ, PermissionLevel.DIRECTORATE)).isTrue();
+        assertThat(matrix.hasAtLeast(PermissionEnum.ORDER_READ, PermissionLevel.INSTITUTION)).isFalse();
+        assertThat(matrix.hasAtLeast(PermissionEnum.ORDER_EDIT, PermissionLevel.PERSONAL)).isFalse();
+    }
+
+    @Test
+    void of_emptyOrMissingPermissions() {
+        assertThat(PermissionMatrix.of(null)).isSameAs(PermissionMatrix.EMPTY);
+        assertThat(PermissionMatrix.of(Map.of())).isSameAs(PermissionMatrix.EMPTY);
+        assertThat(PermissionMatrix.EMPTY.levelOf(PermissionEnum.FLOW_DELETE)).isNull();
+        assertThat(PermissionMatrix.EMPTY.has(PermissionEnum.USER_READ)).isFalse();
+    }
+
+    @Test
+    void equals_comparesContent() {
+        PermissionMatrix first = PermissionMatrix.of(Map.of(PermissionEnum.USER_READ, PermissionLevel.SYSTEM));
+        PermissionMatrix second = PermissionMatrix.of(Map.of(PermissionEnum.USER_READ, PermissionLevel.SYSTEM));
+
+        assertThat(first).isEqualTo(second).hasSameHashCodeAs(second);
+        assertThat(first).isNotEqualTo(PermissionMatrix.of(Map.of(PermissionEnum.USER_READ, PermissionLevel.PERSONAL)));
+    }
+
+}
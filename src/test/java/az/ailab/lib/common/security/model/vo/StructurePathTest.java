@@ -0,0 +1,85 @@
+package az.ailab.lib.common.security.model.vo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class StructurePathTest {
+
+    @Test
+    void of_normalizesSeparators() {
+        StructurePath path = StructurePath.of("//123/456//789/");
+
+        assertThat(path.depth()).isEqualTo(3);
+        assertThat(path.segment(1)).isEqualTo("456");
+        assertThat(path).hasToString("123/456/789").isEqualTo(StructurePath.of("123/456/789"));
+        assertThat(StructurePath.of(null)).isSameAs(StructurePath.EMPTY);
+        assertThat(StructurePath.of("//")).isSameAs(StructurePath.EMPTY);
+    }
+
+    @Test
+    void contains_comparesWholeSegments() {
+        StructurePath path = StructurePath.of("/1/2/");
+
+        assertThat(path.contains(StructurePath.of("1/2"))).isTrue();
+        assertThat(path.contains(StructurePath.of("1/2/3"))).isTrue();
+        assertThat(path.contains(StructurePath.of("11/23"))).isFalse();
+        assertThat(path.contains(StructurePath.of("1/23"))).isFalse();
+        assertThat(path.contains(StructurePath.of("1"))).isFalse();
+    }
+
+    @Test
+    void containsStored_matchesTheSqlPredicate() {
+        StructurePath path = StructurePath.of("1/2");
+        String[] candidates = {"1/2", "1/2/3", "1/2/", "/1/2/", "/1/2/3", "1/20", "11/2", "1/23/4", "1", "", "0/1/2"};
+
+        for (String candidate : candidates) {
+            // path = '1/2' or path like '1/2/%'
+            boolean sqlMatch = candidate.equals(path.toString()) || candidate.startsWith(path.descendantPrefix());
+            assertThat(path.containsStored(candidate))
+                    .as(candidate)
+                    .isEqualTo(sqlMatch);
+        }
+        assertThat(path.containsStored(null)).isFalse();
+        assertThat(StructurePath.EMPTY.containsStored("1")).isFalse();
+    }
+
+    @Test
+    void descendantBounds_bracketExactlyTheDescendants() {
+        StructurePath path = StructurePath.of("1/2");
+        String lower = path.descendantPrefix();
+        String upper = path.descendantUpperBound();
+        String[] candidates = {"1/2/3", "1/2/3/4", "1/2/99", "1/2", "1/20", "1/23/4", "1/3", "1/1/9", "1/2-1"};
+
+        for (String candidate : candidates) {
+            boolean inRange = candidate.compareTo(lower) >= 0 && candidate.compareTo(upper) < 0;
+            assertThat(inRange)
+                    .as(candidate)
+                    .isEqualTo(path.isAncestorOf(StructurePath.of(candidate)));
+        }
+    }
+
+    @Test
+    void descendantLikePattern_escapesWildcards() {
+        assertThat(StructurePath.of("1/2").descendantLikePattern()).isEqualTo("1/2/%");
+        assertThat(StructurePath.of("a_b/c%d\\e").descendantLikePattern()).isEqualTo("a\\_b/c\\%d\\\\e/%");
+    }
+
+    @Test
+    void ancestorAndDescendant_areStrict() {
+        StructurePath institution = StructurePath.of("1");
+        StructurePath directorate = StructurePath.of("1/2");
+
+        assertThat(institution.isAncestorOf(directorate)).isTrue();
+        assertThat(directorate.isDescendantOf(institution)).isTrue();
+        assertThat(directorate.isAncestorOf(directorate)).isFalse();
+        assertThat(directorate.isDescendantOf(directorate)).isFalse();
+    }
+
+    @Test
+    void empty_neitherContainsNorIsContained() {
+        assertThat(StructurePath.EMPTY.contains(StructurePath.of("1"))).isFalse();
+        assertThat(StructurePath.of("1").contains(StructurePath.EMPTY)).isFalse();
+    }
+
+}
@@ -0,0 +1,155 @@
+package az.ailab.lib.common.security.permission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mockStatic;
+
+import az.ailab.lib.common.security.context.UserContext;
+import az.ailab.lib.common.security.context.UserContextHolder;
+import az.ailab.lib.common.security.model.enums.PermissionEnum;
+import az.ailab.lib.common.security.model.enums.PermissionLevel;
+import az.ailab.lib.common.security.model.vo.PermissionMatrix;
+import az.ailab.lib.common.security.permission.vo.EntityContext;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+class BulkPermissionCheckerTest {
+
+    private static final Function<EntityContext, EntityContext> IDENTITY = Function.identity();
+
+    @Test
+    void testPersonalLevelMarksOnlyOwnEntities() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            mockedStatic.when(UserContextHolder::getContext)
+                    .thenReturn(userContext(Map.of(PermissionEnum.ORDER_READ, PermissionLevel.PERSONAL)));
+
+            final List<EntityContext> entities = List.of(entity(1L, 10L, 100), entity(2L, 10L, 100), entity(1L, 20L, 200));
+            final BitSet allowed = BulkPermissionChecker.create().check(PermissionEnum.ORDER_READ, entities);
+
+            assertEquals(bits(0, 2), allowed);
+            mockedStatic.verify(UserContextHolder::getContext);
+        }
+    }
+
+    @Test
+    void testMissingPermissionAllowsNothing() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            mockedStatic.when(UserContextHolder::getContext)
+                    .thenReturn(userContext(Map.of(PermissionEnum.ORDER_READ, PermissionLevel.SYSTEM)));
+
+            final BitSet allowed = BulkPermissionChecker.create()
+                    .check(PermissionEnum.ORDER_ASSIGN, List.of(entity(1L, 10L, 100)));
+
+            assertTrue(allowed.isEmpty());
+        }
+    }
+
+    @Test
+    void testAnonymousAllowsNothing() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(UserContext.ANONYMOUS);
+
+            assertTrue(BulkPermissionChecker.create().check(PermissionEnum.ORDER_READ, List.of(entity(1L, 10L, 100))).isEmpty());
+        }
+    }
+
+    @Test
+    void testSystemLevelAllowsEverything() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            mockedStatic.when(UserContextHolder::getContext)
+                    .thenReturn(userContext(Map.of(PermissionEnum.ORDER_READ, PermissionLevel.SYSTEM)));
+
+            final BitSet allowed = BulkPermissionChecker.create()
+                    .check(PermissionEnum.ORDER_READ, List.of(entity(5L, 50L, 500), entity(6L, 60L, 600)));
+
+            assertEquals(bits(0, 1), allowed);
+        }
+    }
+
+    @Test
+    void testFilterKeepsOrderOfAllowedItems() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            mockedStatic.when(UserContextHolder::getContext)
+                    .thenReturn(userContext(Map.of(PermissionEnum.ORDER_READ, PermissionLevel.DIRECTORATE)));
+
+            final List<EntityContext> entities = new LinkedList<>(List.of(
+                    entity(3L, 10L, 100), entity(4L, 20L, 100), entity(5L, 10L, 100)));
+            final List<EntityContext> visible = BulkPermissionChecker.create()
+                    .filter(PermissionEnum.ORDER_READ, entities, IDENTITY);
+
+            assertEquals(List.of(entities.get(0), entities.get(2)), visible);
+        }
+    }
+
+    @Test
+    void testParallelEvaluationMatchesSequential() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            mockedStatic.when(UserContextHolder::getContext)
+                    .thenReturn(userContext(Map.of(PermissionEnum.ORDER_READ, PermissionLevel.INSTITUTION)));
+
+            final List<EntityContext> entities = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                entities.add(entity((long) i, 10L, i % 3 == 0 ? 100 : 200));
+            }
+            final PermissionChecker rules = new PermissionChecker(null);
+
+            final BitSet sequential = new BulkPermissionChecker(rules, Integer.MAX_VALUE).check(PermissionEnum.ORDER_READ, entities);
+            final BitSet parallel = new BulkPermissionChecker(rules, 1).check(PermissionEnum.ORDER_READ, entities);
+
+            assertEquals(sequential, parallel);
+            assertEquals(3334, parallel.cardinality());
+        }
+    }
+
+    @Test
+    void testParallelEvaluationExtractsOnCallingThread() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            mockedStatic.when(UserContextHolder::getContext)
+                    .thenReturn(userContext(Map.of(PermissionEnum.ORDER_READ, PermissionLevel.INSTITUTION)));
+
+            final List<Long> ids = new ArrayList<>();
+            for (long i = 0; i < 10_000; i++) {
+                ids.add(i);
+            }
+            final Thread caller = Thread.currentThread();
+            final BitSet allowed = new BulkPermissionChecker(new PermissionChecker(null), 1)
+                    .check(PermissionEnum.ORDER_READ, ids, id -> {
+                        assertSame(caller, Thread.currentThread());
+                        return entity(id, 10L, id % 2 == 0 ? 100 : 200);
+                    });
+
+            assertEquals(5000, allowed.cardinality());
+        }
+    }
+
+    private static EntityContext entity(final Long userId, final Long directorateId, final Integer institutionId) {
+        return new EntityContext(userId, "/" + institutionId + "/" + directorateId + "/", directorateId, institutionId, false);
+    }
+
+    private static BitSet bits(final int... indexes) {
+        final BitSet bitSet = new BitSet();
+        for (int index : indexes) {
+            bitSet.set(index);
+        }
+        return bitSet;
+    }
+
+    private static UserContext userContext(final Map<PermissionEnum, PermissionLevel> permissions) {
+        return UserContext.builder()
+                .authenticated(true)
+                .permissionMatrix(PermissionMatrix.of(permissions))
+                .userId(1L)
+                .directorateId(10L)
+                .institutionId(100)
+                .structurePath("/100/10/")
+                .build();
+    }
+
+}
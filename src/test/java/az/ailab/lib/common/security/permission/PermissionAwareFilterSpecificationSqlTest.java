@@ -0,0 +1,300 @@
+package az.ailab.lib.common.security.permission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mockStatic;
+
+import az.ailab.lib.common.security.context.UserContext;
+import az.ailab.lib.common.security.context.UserContextHolder;
+import az.ailab.lib.common.security.model.enums.PermissionEnum;
+import az.ailab.lib.common.security.model.enums.PermissionLevel;
+import az.ailab.lib.common.security.model.vo.PermissionMatrix;
+import az.ailab.lib.common.security.permission.scope.ScopeDirectorate;
+import az.ailab.lib.common.security.permission.scope.ScopeInstitution;
+import az.ailab.lib.common.security.permission.scope.ScopeOwner;
+import az.ailab.lib.common.security.permission.scope.ScopeStructurePath;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Id;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.MockedStatic;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Runs the permission specification against Hibernate and H2 to check that user values are bound, not inlined.
+ */
+class PermissionAwareFilterSpecificationSqlTest {
+
+    private static final int USERS = 50;
+    private static final Set<String> STATEMENTS = ConcurrentHashMap.newKeySet();
+
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(ScopedRecord.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:permission-sql;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.SHOW_SQL, "false")
+                .setStatementInspector((StatementInspector) sql -> {
+                    if (sql.contains("scoped_record")) {
+                        STATEMENTS.add(sql);
+                    }
+                    return sql;
+                })
+                .buildSessionFactory();
+
+        sessionFactory.inTransaction(session -> {
+            for (int i = 1; i <= USERS; i++) {
+                session.persist(new ScopedRecord((long) i, (long) i, (long) i % 5, i % 3, (i % 3) + "/" + (i % 5)));
+            }
+            session.persist(new ScopedRecord(101L, 0L, 0L, 0, "1/20"));
+            session.persist(new ScopedRecord(102L, 0L, 0L, 0, "1/2/9"));
+            session.persist(new ScopedRecord(103L, 0L, 0L, 0, "11/2"));
+        });
+    }
+
+    @AfterAll
+    static void tearDownDatabase() {
+        sessionFactory.close();
+    }
+
+    @BeforeEach
+    void clearStatements() {
+        STATEMENTS.clear();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = PermissionLevel.class, names = "SYSTEM", mode = EnumSource.Mode.EXCLUDE)
+    void usersAtTheSameLevelShareOneStatement(final PermissionLevel level) {
+        for (PathMatchMode mode : PathMatchMode.values()) {
+            final Set<List<Long>> results = new HashSet<>();
+            for (int user = 1; user <= USERS; user++) {
+                results.add(findVisible(level, mode, user).stream().map(ScopedRecord::getId).sorted().toList());
+            }
+            assertThat(results).as("users see rows of their own scope").hasSizeGreaterThan(1);
+        }
+
+        // one statement per path match mode for path levels; ID levels ignore the mode
+        final int expected = level == PermissionLevel.STRUCTURE ? PathMatchMode.values().length : 1;
+        assertThat(STATEMENTS).hasSize(expected);
+    }
+
+    @ParameterizedTest
+    @EnumSource(PathMatchMode.class)
+    void pathLevelsMatchWholeSegments(final PathMatchMode mode) {
+        // user 7 sits at "1/2"
+        assertThat(findVisible(PermissionLevel.STRUCTURE, mode, 7))
+                .extracting(ScopedRecord::getStructurePath)
+                .containsOnly("1/2", "1/2/9");
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = PermissionLevel.class, names = "SYSTEM", mode = EnumSource.Mode.EXCLUDE)
+    void annotatedSpecificationMatchesHandWrittenOne(final PermissionLevel level) {
+        for (int user = 1; user <= USERS; user++) {
+            assertThat(findVisible(level, new AnnotatedScopedRecordSpecification(), user))
+                    .extracting(ScopedRecord::getId)
+                    .containsExactlyInAnyOrderElementsOf(findVisible(level, PathMatchMode.PREFIX, user).stream()
+                            .map(ScopedRecord::getId)
+                            .toList());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(PermissionLevel.class)
+    void repositoryHelpersMatchLoadedRows(final PermissionLevel level) {
+        for (int user = 1; user <= USERS; user += 7) {
+            final int visible = findVisible(level, PathMatchMode.PREFIX, user).size();
+            try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class);
+                    EntityManager entityManager = sessionFactory.createEntityManager()) {
+                mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(level, user));
+                final ScopedRecordRepository repository = repository(entityManager);
+                final ScopedRecordSpecification specification = new ScopedRecordSpecification(PathMatchMode.PREFIX);
+
+                assertThat(repository.countWithPermission(specification, PermissionEnum.ORDER_READ)).isEqualTo(visible);
+                assertThat(repository.existsWithPermission(specification, PermissionEnum.ORDER_READ)).isEqualTo(visible > 0);
+            }
+        }
+    }
+
+    @Test
+    void systemLevelQueriesHaveNoPredicate() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class);
+                EntityManager entityManager = sessionFactory.createEntityManager()) {
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(PermissionLevel.SYSTEM, 1));
+            final ScopedRecordRepository repository = repository(entityManager);
+            final ScopedRecordSpecification specification = new ScopedRecordSpecification(PathMatchMode.PREFIX);
+
+            assertThat(repository.existsWithPermission(specification, PermissionEnum.ORDER_READ)).isTrue();
+            assertThat(repository.countWithPermission(specification, PermissionEnum.ORDER_READ)).isEqualTo(USERS + 3L);
+        }
+
+        assertThat(STATEMENTS).hasSize(2).noneMatch(sql -> sql.contains(" where "));
+    }
+
+    private static ScopedRecordRepository repository(final EntityManager entityManager) {
+        return new JpaRepositoryFactory(entityManager).getRepository(ScopedRecordRepository.class);
+    }
+
+    private static List<ScopedRecord> findVisible(final PermissionLevel level, final PathMatchMode mode, final int user) {
+        return findVisible(level, new ScopedRecordSpecification(mode), user);
+    }
+
+    private static List<ScopedRecord> findVisible(final PermissionLevel level,
+                                                  final PermissionAwareFilterSpecification<ScopedRecord> filterSpecification,
+                                                  final int user) {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(level, user));
+
+            final Specification<ScopedRecord> specification = filterSpecification
+                    .toSpecificationWithPermission(PermissionEnum.ORDER_READ);
+
+            try (EntityManager entityManager = sessionFactory.createEntityManager()) {
+                final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                final CriteriaQuery<ScopedRecord> query = cb.createQuery(ScopedRecord.class);
+                final Root<ScopedRecord> root = query.from(ScopedRecord.class);
+                query.where(specification.toPredicate(root, query, cb));
+                return entityManager.createQuery(query).getResultList();
+            }
+        }
+    }
+
+    private static UserContext userContext(final PermissionLevel level, final int user) {
+        return UserContext.builder()
+                .authenticated(true)
+                .permissionMatrix(PermissionMatrix.of(Map.of(PermissionEnum.ORDER_READ, level)))
+                .userId((long) user)
+                .directorateId((long) user % 5)
+                .institutionId(user % 3)
+                .structurePath("/" + (user % 3) + "/" + (user % 5) + "/")
+                .build();
+    }
+
+    @Entity(name = "scoped_record")
+    static class ScopedRecord {
+
+        @Id
+        private Long id;
+
+        @ScopeOwner
+        private Long userId;
+
+        @ScopeDirectorate
+        private Long directorateId;
+
+        @ScopeInstitution
+        private Integer institutionId;
+
+        @ScopeStructurePath
+        private String structurePath;
+
+        protected ScopedRecord() {
+        }
+
+        ScopedRecord(final Long id,
+                     final Long userId,
+                     final Long directorateId,
+                     final Integer institutionId,
+                     final String structurePath) {
+            this.id = id;
+            this.userId = userId;
+            this.directorateId = directorateId;
+            this.institutionId = institutionId;
+            this.structurePath = structurePath;
+        }
+
+        Long getId() {
+            return id;
+        }
+
+        String getStructurePath() {
+            return structurePath;
+        }
+
+    }
+
+    interface ScopedRecordRepository extends Repository<ScopedRecord, Long>, PermissionScopedRepository<ScopedRecord> {
+
+    }
+
+    private static class ScopedRecordSpecification extends PermissionAwareFilterSpecification<ScopedRecord> {
+
+        private final PathMatchMode pathMatchMode;
+
+        ScopedRecordSpecification(final PathMatchMode pathMatchMode) {
+            this.pathMatchMode = pathMatchMode;
+        }
+
+        @Override
+        public Specification<ScopedRecord> toSpecification() {
+            return null;
+        }
+
+        @Override
+        public Function<Root<ScopedRecord>, Expression<Long>> getUserId() {
+            return root -> root.get("userId");
+        }
+
+        @Override
+        public Function<Root<ScopedRecord>, Expression<Long>> getDirectorateId() {
+            return root -> root.get("directorateId");
+        }
+
+        @Override
+        public Function<Root<ScopedRecord>, Expression<Integer>> getInstitutionId() {
+            return root -> root.get("institutionId");
+        }
+
+        @Override
+        public Function<Root<ScopedRecord>, Expression<String>> getStructurePath() {
+            return root -> root.get("structurePath");
+        }
+
+        @Override
+        public boolean useOnlyPath() {
+            return false;
+        }
+
+        @Override
+        public PathMatchMode pathMatchMode() {
+            return pathMatchMode;
+        }
+
+    }
+
+    private static class AnnotatedScopedRecordSpecification extends AnnotatedPermissionFilterSpecification<ScopedRecord> {
+
+        AnnotatedScopedRecordSpecification() {
+            super(ScopedRecord.class);
+        }
+
+        @Override
+        public Specification<ScopedRecord> toSpecification() {
+            return null;
+        }
+
+    }
+
+}
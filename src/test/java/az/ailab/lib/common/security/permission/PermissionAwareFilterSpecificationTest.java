@@ -1,18 +1,23 @@
 package az.ailab.lib.common.security.permission;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyChar;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import az.ailab.lib.common.security.context.UserContext;
 import az.ailab.lib.common.security.context.UserContextHolder;
 import az.ailab.lib.common.security.model.enums.PermissionEnum;
 import az.ailab.lib.common.security.model.enums.PermissionLevel;
-import az.ailab.lib.common.util.specification.FilterOperations;
+import az.ailab.lib.common.security.model.vo.PermissionMatrix;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Expression;
@@ -74,50 +79,53 @@ class PermissionAwareFilterSpecificationTest {
 
     @Test
     void testSystemLevelPermission() {
-        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class);
-                MockedStatic<FilterOperations> filterOpsMock = mockStatic(FilterOperations.class)) {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
 
             // UserContextHolder mock
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-
             Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
             permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.SYSTEM);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(permissions);
-
-            // FilterOperations mock
-            Specification<TestEntity> alwaysTrueSpec = (r, q, c) -> predicate;
-            filterOpsMock.when(FilterOperations::alwaysTrue)
-                    .thenReturn(alwaysTrueSpec);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, null, null, null));
 
             // Execute
             Specification<TestEntity> result = specification.toSpecificationWithPermission(PermissionEnum.ORDER_READ);
             Predicate actualPredicate = result.toPredicate(root, query, cb);
 
-            // Verify
-            assertEquals(predicate, actualPredicate);
+            // Verify that full access adds no predicate at all
+            assertNull(actualPredicate);
+            verifyNoInteractions(cb);
+        }
+    }
+
+    @Test
+    void testSystemLevelPermissionKeepsBaseSpecification() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
+            permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.SYSTEM);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, null, null, null));
+
+            specification.setBasicPredicateEnabled(true);
+            Predicate basicPredicate = mock(Predicate.class);
+            when(cb.equal(institutionIdPath, 999)).thenReturn(basicPredicate);
+
+            Specification<TestEntity> result = specification.toSpecificationWithPermission(PermissionEnum.ORDER_READ);
+
+            assertEquals(basicPredicate, result.toPredicate(root, query, cb));
+            verify(cb, never()).and(any(Predicate.class), any(Predicate.class));
         }
     }
 
     @Test
     void testInstitutionLevelPermissionWithIdBasedFiltering() {
-        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class);
-                MockedStatic<FilterOperations> filterOpsMock = mockStatic(FilterOperations.class)) {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
 
             // UserContextHolder mock
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-
             Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
             permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.INSTITUTION);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(permissions);
-            mockedStatic.when(UserContextHolder::getInstitutionId).thenReturn(123);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, null, 123, null));
 
             // Configure specification to use ID-based filtering
             specification.setUseOnlyPath(false);
-
-            // FilterOperations mock
-            Specification<TestEntity> equalsSpec = (r, q, c) -> predicate;
-            filterOpsMock.when(() -> FilterOperations.equals(eq(123), any()))
-                    .thenReturn(equalsSpec);
+            when(cb.equal(institutionIdPath, 123)).thenReturn(predicate);
 
             // Execute
             Specification<TestEntity> result = specification.toSpecificationWithPermission(PermissionEnum.ORDER_READ);
@@ -130,53 +138,38 @@ class PermissionAwareFilterSpecificationTest {
 
     @Test
     void testInstitutionLevelPermissionWithPathBasedFiltering() {
-        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class);
-                MockedStatic<FilterOperations> filterOpsMock = mockStatic(FilterOperations.class)) {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
 
             // UserContextHolder mock
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-
             Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
             permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.INSTITUTION);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(permissions);
-            mockedStatic.when(UserContextHolder::getInstitutionId).thenReturn(123);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, null, 123, null));
 
             specification.setUseOnlyPath(true);
-
-            Specification<TestEntity> startsWithSpec = (r, q, c) -> predicate;
-            filterOpsMock.when(() -> FilterOperations.startsWith(anyString(), any()))
-                    .thenReturn(startsWithSpec);
+            Predicate pathPredicate = stubPrefixMatch("123");
 
             // Execute
             Specification<TestEntity> result = specification.toSpecificationWithPermission(PermissionEnum.ORDER_READ);
             Predicate actualPredicate = result.toPredicate(root, query, cb);
 
             // Verify
-            assertEquals(predicate, actualPredicate);
-            filterOpsMock.verify(() -> FilterOperations.startsWith(eq("123"), any()));
+            assertEquals(pathPredicate, actualPredicate);
+            verify(cb).like(structurePathPath, "123/%", '\\');
         }
     }
 
     @Test
     void testDirectorateLevelPermissionWithIdBasedFiltering() {
-        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class);
-                MockedStatic<FilterOperations> filterOpsMock = mockStatic(FilterOperations.class)) {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
 
             // UserContextHolder mock
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-
             Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
             permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.DIRECTORATE);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(permissions);
-            mockedStatic.when(UserContextHolder::getDirectorateId).thenReturn(456L);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, 456L, null, null));
 
             // Configure specification to use ID-based filtering
             specification.setUseOnlyPath(false);
-
-            // FilterOperations mock
-            Specification<TestEntity> equalsSpec = (r, q, c) -> predicate;
-            filterOpsMock.when(() -> FilterOperations.equals(eq(456L), any()))
-                    .thenReturn(equalsSpec);
+            when(cb.equal(directorateIdPath, 456L)).thenReturn(predicate);
 
             // Execute
             Specification<TestEntity> result = specification.toSpecificationWithPermission(PermissionEnum.ORDER_READ);
@@ -189,80 +182,58 @@ class PermissionAwareFilterSpecificationTest {
 
     @Test
     void testDirectorateLevelPermissionWithPathBasedFiltering() {
-        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class);
-                MockedStatic<FilterOperations> filterOpsMock = mockStatic(FilterOperations.class)) {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
 
             // UserContextHolder mock
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-
             Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
             permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.DIRECTORATE);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(permissions);
-            mockedStatic.when(UserContextHolder::getInstitutionId).thenReturn(123);
-            mockedStatic.when(UserContextHolder::getDirectorateId).thenReturn(456L);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, 456L, 123, null));
 
             // Configure specification to use path-based filtering
             specification.setUseOnlyPath(true);
-
-            Specification<TestEntity> startsWithSpec = (r, q, c) -> predicate;
-            filterOpsMock.when(() -> FilterOperations.startsWith(anyString(), any()))
-                    .thenReturn(startsWithSpec);
+            Predicate pathPredicate = stubPrefixMatch("123/456");
 
             // Execute
             Specification<TestEntity> result = specification.toSpecificationWithPermission(PermissionEnum.ORDER_READ);
             Predicate actualPredicate = result.toPredicate(root, query, cb);
 
             // Verify
-            assertEquals(predicate, actualPredicate);
-            filterOpsMock.verify(() -> FilterOperations.startsWith(eq("123/456"), any()));
+            assertEquals(pathPredicate, actualPredicate);
+            verify(cb).like(structurePathPath, "123/456/%", '\\');
         }
     }
 
     @Test
     void testStructureLevelPermission() {
-        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class);
-                MockedStatic<FilterOperations> filterOpsMock = mockStatic(FilterOperations.class)) {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
 
             // UserContextHolder mock
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-
             Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
             permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.STRUCTURE);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(permissions);
-            mockedStatic.when(UserContextHolder::getStructurePath).thenReturn("1/2/3");
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, null, null, "1/2/3"));
 
-            // FilterOperations mock
-            Specification<TestEntity> startsWithSpec = (r, q, c) -> predicate;
-            filterOpsMock.when(() -> FilterOperations.startsWith(anyString(), any()))
-                    .thenReturn(startsWithSpec);
+            Predicate pathPredicate = stubPrefixMatch("1/2/3");
 
             // Execute
             Specification<TestEntity> result = specification.toSpecificationWithPermission(PermissionEnum.ORDER_READ);
             Predicate actualPredicate = result.toPredicate(root, query, cb);
 
             // Verify
-            assertEquals(predicate, actualPredicate);
-            filterOpsMock.verify(() -> FilterOperations.startsWith(eq("1/2/3"), any()));
+            assertEquals(pathPredicate, actualPredicate);
+            verify(cb).like(structurePathPath, "1/2/3/%", '\\');
         }
     }
 
     @Test
     void testPersonalLevelPermission() {
-        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class);
-                MockedStatic<FilterOperations> filterOpsMock = mockStatic(FilterOperations.class)) {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
 
             // UserContextHolder mock
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-
             Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
             permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.PERSONAL);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(permissions);
-            mockedStatic.when(UserContextHolder::getUserId).thenReturn(789L);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, 789L, null, null, null));
 
-            // FilterOperations mock
-            Specification<TestEntity> equalsSpec = (r, q, c) -> predicate;
-            filterOpsMock.when(() -> FilterOperations.equals(eq(789L), any()))
-                    .thenReturn(equalsSpec);
+            when(cb.equal(userIdPath, 789L)).thenReturn(predicate);
 
             // Execute
             Specification<TestEntity> result = specification.toSpecificationWithPermission(PermissionEnum.ORDER_READ);
@@ -275,25 +246,19 @@ class PermissionAwareFilterSpecificationTest {
 
     @Test
     void testCombinedSpecifications() {
-        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class);
-                MockedStatic<FilterOperations> filterOpsMock = mockStatic(FilterOperations.class)) {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
 
             // UserContextHolder mock
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-
             Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
             permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.PERSONAL);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(permissions);
-            mockedStatic.when(UserContextHolder::getUserId).thenReturn(789L);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, 789L, null, null, null));
 
             // Configure basic specification to return a predicate
             specification.setBasicPredicateEnabled(true);
 
-            // FilterOperations mock
+            // Mock permission predicate
             Predicate userPredicate = mock(Predicate.class);
-            Specification<TestEntity> equalsSpec = (r, q, c) -> userPredicate;
-            filterOpsMock.when(() -> FilterOperations.equals(eq(789L), any()))
-                    .thenReturn(equalsSpec);
+            when(cb.equal(userIdPath, 789L)).thenReturn(userPredicate);
 
             // Mock basic predicate
             Predicate basicPredicate = mock(Predicate.class);
@@ -313,6 +278,110 @@ class PermissionAwareFilterSpecificationTest {
         }
     }
 
+    @Test
+    void testInstitutionLevelPermissionWithRangeMatching() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+
+            // UserContextHolder mock
+            Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
+            permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.INSTITUTION);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, null, 123, null));
+
+            specification.setUseOnlyPath(true);
+            specification.setPathMatchMode(PathMatchMode.RANGE);
+
+            Predicate equalsPredicate = mock(Predicate.class);
+            Predicate lowerPredicate = mock(Predicate.class);
+            Predicate upperPredicate = mock(Predicate.class);
+            Predicate rangePredicate = mock(Predicate.class);
+            Predicate pathPredicate = mock(Predicate.class);
+            when(cb.equal(structurePathPath, "123")).thenReturn(equalsPredicate);
+            when(cb.greaterThanOrEqualTo(structurePathPath, "123/")).thenReturn(lowerPredicate);
+            when(cb.lessThan(structurePathPath, "1230")).thenReturn(upperPredicate);
+            when(cb.and(lowerPredicate, upperPredicate)).thenReturn(rangePredicate);
+            when(cb.or(equalsPredicate, rangePredicate)).thenReturn(pathPredicate);
+
+            // Execute
+            Specification<TestEntity> result = specification.toSpecificationWithPermission(PermissionEnum.ORDER_READ);
+            Predicate actualPredicate = result.toPredicate(root, query, cb);
+
+            // Verify
+            assertEquals(pathPredicate, actualPredicate);
+            verify(cb, never()).like(any(), anyString(), anyChar());
+        }
+    }
+
+    @Test
+    void testPrefixMatchingEscapesLikeWildcards() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
+            permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.STRUCTURE);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, null, null, "A_1/B%2"));
+
+            Predicate pathPredicate = stubPrefixMatch("A_1/B%2");
+
+            Specification<TestEntity> result = specification.toSpecificationWithPermission(PermissionEnum.ORDER_READ);
+
+            assertEquals(pathPredicate, result.toPredicate(root, query, cb));
+            verify(cb).like(structurePathPath, "A\\_1/B\\%2/%", '\\');
+        }
+    }
+
+    @Test
+    void testIdLevelWithoutUserValueMatchesNothing() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
+            permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.DIRECTORATE);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, null, null, null));
+
+            when(cb.disjunction()).thenReturn(predicate);
+
+            Specification<TestEntity> result = specification.toSpecificationWithPermission(PermissionEnum.ORDER_READ);
+
+            assertEquals(predicate, result.toPredicate(root, query, cb));
+            verify(cb, never()).equal(any(), any(Object.class));
+        }
+    }
+
+    @Test
+    void testStructureLevelWithoutPathMatchesNothing() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
+            permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.STRUCTURE);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, null, null, null));
+
+            when(cb.disjunction()).thenReturn(predicate);
+
+            Specification<TestEntity> result = specification.toSpecificationWithPermission(PermissionEnum.ORDER_READ);
+
+            assertEquals(predicate, result.toPredicate(root, query, cb));
+        }
+    }
+
+    private Predicate stubPrefixMatch(final String path) {
+        Predicate equalsPredicate = mock(Predicate.class);
+        Predicate pathPredicate = mock(Predicate.class);
+        when(cb.equal(structurePathPath, path)).thenReturn(equalsPredicate);
+        when(cb.like(eq(structurePathPath), anyString(), anyChar())).thenReturn(predicate);
+        when(cb.or(equalsPredicate, predicate)).thenReturn(pathPredicate);
+        return pathPredicate;
+    }
+
+    private static UserContext userContext(final Map<PermissionEnum, PermissionLevel> permissions,
+                                           final Long userId,
+                                           final Long directorateId,
+                                           final Integer institutionId,
+                                           final String structurePath) {
+        return UserContext.builder()
+                .authenticated(true)
+                .permissionMatrix(PermissionMatrix.of(permissions))
+                .userId(userId)
+                .directorateId(directorateId)
+                .institutionId(institutionId)
+                .structurePath(structurePath)
+                .build();
+    }
+
     // Test entity and specification implementation for testing purposes
     private static class TestEntity {
 
@@ -326,6 +395,7 @@ class PermissionAwareFilterSpecificationTest {
     private static class TestFilterSpecification extends PermissionAwareFilterSpecification<TestEntity> {
         private boolean useOnlyPathFlag = false;
         private boolean basicPredicateEnabled = false;
+        private PathMatchMode pathMatchMode = PathMatchMode.PREFIX;
 
         public void setUseOnlyPath(boolean useOnlyPath) {
             this.useOnlyPathFlag = useOnlyPath;
@@ -335,6 +405,10 @@ class PermissionAwareFilterSpecificationTest {
             this.basicPredicateEnabled = enabled;
         }
 
+        public void setPathMatchMode(PathMatchMode pathMatchMode) {
+            this.pathMatchMode = pathMatchMode;
+        }
+
         @Override
         public Specification<TestEntity> toSpecification() {
             if (!basicPredicateEnabled) {
@@ -369,6 +443,11 @@ class PermissionAwareFilterSpecificationTest {
         public boolean useOnlyPath() {
             return useOnlyPathFlag;
         }
+
+        @Override
+        public PathMatchMode pathMatchMode() {
+            return pathMatchMode;
+        }
     }
 
 }
\ No newline at end of file
@@ -1,16 +1,24 @@
 package az.ailab.lib.common.security.permission;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 
 import az.ailab.lib.common.error.ServiceException;
+import az.ailab.lib.common.security.context.UserContext;
 import az.ailab.lib.common.security.context.UserContextHolder;
 import az.ailab.lib.common.security.model.enums.PermissionEnum;
 import az.ailab.lib.common.security.model.enums.PermissionLevel;
+import az.ailab.lib.common.security.model.vo.PermissionMatrix;
 import az.ailab.lib.common.security.permission.vo.EntityContext;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,11 +47,9 @@ class PermissionCheckerTest {
     void testSystemLevelPermission() {
         try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
             // Setup UserContextHolder mocks
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-
             Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
             permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.SYSTEM);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(permissions);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, null, null, null));
 
             // Execute and verify no exception is thrown for system level
             assertDoesNotThrow(() -> permissionChecker.check(PermissionEnum.ORDER_READ));
@@ -54,12 +60,9 @@ class PermissionCheckerTest {
     void testInstitutionLevelPermissionWithIdBasedFiltering() {
         try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
             // Setup UserContextHolder mocks
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-
             Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
             permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.INSTITUTION);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(permissions);
-            mockedStatic.when(UserContextHolder::getInstitutionId).thenReturn(123);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, null, 123, null));
 
             // Setup entity context
             when(entityContext.useOnlyPath()).thenReturn(false);
@@ -78,13 +81,9 @@ class PermissionCheckerTest {
     void testInstitutionLevelPermissionWithPathBasedFiltering() {
         try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
             // Setup UserContextHolder mocks
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-
             Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
             permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.INSTITUTION);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(permissions);
-            mockedStatic.when(UserContextHolder::getInstitutionId).thenReturn(123);
-            mockedStatic.when(UserContextHolder::getStructurePath).thenReturn("/123/456/");
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, null, 123, "/123/456/"));
 
             // Setup entity context
             when(entityContext.useOnlyPath()).thenReturn(true);
@@ -93,8 +92,8 @@ class PermissionCheckerTest {
             // Execute and verify success when path contains institution path
             assertDoesNotThrow(() -> permissionChecker.check(PermissionEnum.ORDER_READ));
 
-            // Verify failure when path doesn't contain institution path
-            mockedStatic.when(UserContextHolder::getStructurePath).thenReturn("/999/888/");
+            // Verify failure when entity path is outside the institution path
+            when(entityContext.structurePath()).thenReturn("999/888");
             assertThrows(ServiceException.class, () -> permissionChecker.check(PermissionEnum.ORDER_READ));
         }
     }
@@ -103,12 +102,9 @@ class PermissionCheckerTest {
     void testDirectorateLevelPermissionWithIdBasedFiltering() {
         try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
             // Setup UserContextHolder mocks
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-
             Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
             permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.DIRECTORATE);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(permissions);
-            mockedStatic.when(UserContextHolder::getDirectorateId).thenReturn(456L);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, 456L, null, null));
 
             // Setup entity context
             when(entityContext.useOnlyPath()).thenReturn(false);
@@ -127,14 +123,9 @@ class PermissionCheckerTest {
     void testDirectorateLevelPermissionWithPathBasedFiltering() {
         try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
             // Setup UserContextHolder mocks
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-
             Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
             permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.DIRECTORATE);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(permissions);
-            mockedStatic.when(UserContextHolder::getInstitutionId).thenReturn(123);
-            mockedStatic.when(UserContextHolder::getDirectorateId).thenReturn(456L);
-            mockedStatic.when(UserContextHolder::getStructurePath).thenReturn("/123/456/789/");
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, 456L, 123, "/123/456/789/"));
 
             // Setup entity context
             when(entityContext.useOnlyPath()).thenReturn(true);
@@ -143,8 +134,8 @@ class PermissionCheckerTest {
             // Execute and verify success when path contains directorate path
             assertDoesNotThrow(() -> permissionChecker.check(PermissionEnum.ORDER_READ));
 
-            // Verify failure when path doesn't contain directorate path
-            mockedStatic.when(UserContextHolder::getStructurePath).thenReturn("/123/999/");
+            // Verify failure when entity path is outside the directorate path
+            when(entityContext.structurePath()).thenReturn("123/999");
             assertThrows(ServiceException.class, () -> permissionChecker.check(PermissionEnum.ORDER_READ));
         }
     }
@@ -153,12 +144,9 @@ class PermissionCheckerTest {
     void testStructureLevelPermission() {
         try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
             // Setup UserContextHolder mocks
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-
             Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
             permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.STRUCTURE);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(permissions);
-            mockedStatic.when(UserContextHolder::getStructurePath).thenReturn("/1/2/3/");
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, null, null, "/1/2/3/"));
 
             // Setup entity context
             when(entityContext.structurePath()).thenReturn("1/2/3");
@@ -169,6 +157,12 @@ class PermissionCheckerTest {
             // Verify failure when path is not contained
             when(entityContext.structurePath()).thenReturn("4/5/6");
             assertThrows(ServiceException.class, () -> permissionChecker.check(PermissionEnum.ORDER_READ));
+
+            // Entities below the user's path are in scope, entities above it are not
+            when(entityContext.structurePath()).thenReturn("1/2/3/4");
+            assertDoesNotThrow(() -> permissionChecker.check(PermissionEnum.ORDER_READ));
+            when(entityContext.structurePath()).thenReturn("1/2");
+            assertThrows(ServiceException.class, () -> permissionChecker.check(PermissionEnum.ORDER_READ));
         }
     }
 
@@ -176,12 +170,9 @@ class PermissionCheckerTest {
     void testPersonalLevelPermission() {
         try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
             // Setup UserContextHolder mocks
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-
             Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
             permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.PERSONAL);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(permissions);
-            mockedStatic.when(UserContextHolder::getUserId).thenReturn(789L);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, 789L, null, null, null));
 
             // Setup entity context
             when(entityContext.userId()).thenReturn(789L);
@@ -199,7 +190,7 @@ class PermissionCheckerTest {
     void testUnauthenticatedUser() {
         try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
             // Setup UserContextHolder mocks for unauthenticated user
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(false);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(UserContext.ANONYMOUS);
 
             // Execute and verify exception is thrown
             assertThrows(ServiceException.class, () -> permissionChecker.check(PermissionEnum.ORDER_READ));
@@ -210,8 +201,7 @@ class PermissionCheckerTest {
     void testMissingPermission() {
         try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
             // Setup UserContextHolder mocks with missing permission
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(new HashMap<>());
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(new HashMap<>(), null, null, null, null));
 
             // Execute and verify exception is thrown
             assertThrows(ServiceException.class, () -> permissionChecker.check(PermissionEnum.ORDER_READ));
@@ -222,11 +212,9 @@ class PermissionCheckerTest {
     void testNullPermissionLevel() {
         try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
             // Setup UserContextHolder mocks with null permission level
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-
             Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
             permissions.put(PermissionEnum.ORDER_READ, null);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(permissions);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, null, null, null));
 
             // Execute and verify exception is thrown
             assertThrows(ServiceException.class, () -> permissionChecker.check(PermissionEnum.ORDER_READ));
@@ -256,26 +244,125 @@ class PermissionCheckerTest {
 
         try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
             // Setup for directorate level test with custom path format
-            mockedStatic.when(UserContextHolder::isAuthenticated).thenReturn(true);
-
             Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
             permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.DIRECTORATE);
-            mockedStatic.when(UserContextHolder::getPermissions).thenReturn(permissions);
-            mockedStatic.when(UserContextHolder::getInstitutionId).thenReturn(123);
-            mockedStatic.when(UserContextHolder::getDirectorateId).thenReturn(456L);
 
             // Custom path format
-            mockedStatic.when(UserContextHolder::getStructurePath).thenReturn("INST-123-DIR-456");
+            mockedStatic.when(UserContextHolder::getContext)
+                    .thenReturn(userContext(permissions, null, 456L, 123, "INST-123-DIR-456"));
 
             when(entityContext.useOnlyPath()).thenReturn(true);
+            when(entityContext.structurePath()).thenReturn("INST-123-DIR-456/789");
 
             // Should pass with custom format path
             assertDoesNotThrow(() -> customChecker.check(PermissionEnum.ORDER_READ));
 
             // Should fail with incorrect path
-            mockedStatic.when(UserContextHolder::getStructurePath).thenReturn("/123/456/");
+            when(entityContext.structurePath()).thenReturn("123/456");
             assertThrows(ServiceException.class, () -> customChecker.check(PermissionEnum.ORDER_READ));
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    void testPathLevelsCompareWholeSegments() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
+            permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.STRUCTURE);
+            permissions.put(PermissionEnum.ORDER_ASSIGN, PermissionLevel.DIRECTORATE);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, null, 2L, 1, "/1/2/"));
+            when(entityContext.useOnlyPath()).thenReturn(true);
+
+            // "1/2" is a textual prefix of "11/23" and "1/23" but not a parent of them
+            for (String outside : new String[] {"11/23", "1/23", "1"}) {
+                when(entityContext.structurePath()).thenReturn(outside);
+                assertThrows(ServiceException.class, () -> permissionChecker.check(PermissionEnum.ORDER_READ));
+                assertThrows(ServiceException.class, () -> permissionChecker.check(PermissionEnum.ORDER_ASSIGN));
+            }
+
+            when(entityContext.structurePath()).thenReturn("1/2/3");
+            assertDoesNotThrow(() -> permissionChecker.check(PermissionEnum.ORDER_READ));
+            assertDoesNotThrow(() -> permissionChecker.check(PermissionEnum.ORDER_ASSIGN));
+
+            // stored paths are compared in the canonical column format, as by the SQL predicate
+            when(entityContext.structurePath()).thenReturn("/1/2/3/");
+            assertThrows(ServiceException.class, () -> permissionChecker.check(PermissionEnum.ORDER_READ));
+        }
+    }
+
+    @Test
+    void testEvaluateReportsDenialReasonWithoutThrowing() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
+            permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.PERSONAL);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, 1L, null, null, null));
+
+            when(entityContext.userId()).thenReturn(1L);
+            assertEquals(PermissionChecker.Decision.ALLOWED, permissionChecker.evaluate(PermissionEnum.ORDER_READ));
+            assertTrue(permissionChecker.tryCheck(PermissionEnum.ORDER_READ));
+
+            when(entityContext.userId()).thenReturn(2L);
+            assertEquals(PermissionChecker.Decision.OUT_OF_SCOPE, permissionChecker.evaluate(PermissionEnum.ORDER_READ));
+            assertFalse(permissionChecker.tryCheck(PermissionEnum.ORDER_READ));
+
+            assertEquals(PermissionChecker.Decision.MISSING_PERMISSION, permissionChecker.evaluate(PermissionEnum.ORDER_ASSIGN));
+
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(UserContext.ANONYMOUS);
+            assertEquals(PermissionChecker.Decision.UNAUTHENTICATED, permissionChecker.evaluate(PermissionEnum.ORDER_READ));
+            assertFalse(permissionChecker.tryCheck(PermissionEnum.ORDER_READ));
+        }
+    }
+
+    @Test
+    void testDenialsDoNotShareState() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(UserContext.ANONYMOUS);
+
+            ServiceException first = assertThrows(ServiceException.class, () -> permissionChecker.check(PermissionEnum.ORDER_READ));
+            first.addSuppressed(new IllegalStateException("closing resource failed"));
+            ServiceException second = assertThrows(ServiceException.class, () -> permissionChecker.check(PermissionEnum.ORDER_READ));
+
+            assertNotSame(first, second);
+            assertEquals(0, second.getSuppressed().length);
+        }
+    }
+
+    @Test
+    void testDeniedExceptionReceivesTheDecision() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            Map<PermissionEnum, PermissionLevel> permissions = new HashMap<>();
+            permissions.put(PermissionEnum.ORDER_READ, PermissionLevel.PERSONAL);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(permissions, 1L, null, null, null));
+            when(entityContext.userId()).thenReturn(2L);
+
+            List<PermissionChecker.Decision> decisions = new ArrayList<>();
+            PermissionChecker checker = new PermissionChecker(entityContext) {
+                @Override
+                protected ServiceException deniedException(final Decision decision) {
+                    decisions.add(decision);
+                    return super.deniedException(decision);
+                }
+            };
+
+            assertThrows(ServiceException.class, () -> checker.check(PermissionEnum.ORDER_READ));
+            assertThrows(ServiceException.class, () -> checker.check(PermissionEnum.ORDER_ASSIGN));
+            assertEquals(List.of(PermissionChecker.Decision.OUT_OF_SCOPE, PermissionChecker.Decision.MISSING_PERMISSION),
+                    decisions);
+        }
+    }
+
+    private static UserContext userContext(final Map<PermissionEnum, PermissionLevel> permissions,
+                                           final Long userId,
+                                           final Long directorateId,
+                                           final Integer institutionId,
+                                           final String structurePath) {
+        return UserContext.builder()
+                .authenticated(true)
+                .permissionMatrix(PermissionMatrix.of(permissions))
+                .userId(userId)
+                .directorateId(directorateId)
+                .institutionId(institutionId)
+                .structurePath(structurePath)
+                .build();
+    }
+
+}
@@ -0,0 +1,118 @@
+package az.ailab.lib.common.security.permission.scope;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import az.ailab.lib.common.security.context.UserContext;
+import az.ailab.lib.common.security.context.UserContextHolder;
+import az.ailab.lib.common.security.model.enums.PermissionEnum;
+import az.ailab.lib.common.security.model.enums.PermissionLevel;
+import az.ailab.lib.common.security.model.vo.PermissionMatrix;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+class RowScopeDataSourceTest {
+
+    private DataSource target;
+    private Connection connection;
+    private PreparedStatement statement;
+    private DatabaseMetaData metaData;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        metaData = mock(DatabaseMetaData.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+    }
+
+    @Test
+    void getConnection_setsUserScopeInOneStatement() throws SQLException {
+        final UserContext context = UserContext.builder()
+                .authenticated(true)
+                .permissionMatrix(PermissionMatrix.of(Map.of(PermissionEnum.ORDER_READ, PermissionLevel.STRUCTURE)))
+                .userId(7L)
+                .directorateId(2L)
+                .institutionId(1)
+                .structurePath("/1/2/")
+                .build();
+
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(context);
+
+            assertThat(new RowScopeDataSource(target, "scope.").getConnection()).isSameAs(connection);
+        }
+
+        verify(statement).setString(1, "scope.user_id");
+        verify(statement).setString(2, "7");
+        verify(statement).setString(3, "scope.directorate_id");
+        verify(statement).setString(4, "2");
+        verify(statement).setString(5, "scope.institution_id");
+        verify(statement).setString(6, "1");
+        verify(statement).setString(7, "scope.structure_path");
+        verify(statement).setString(8, "1/2");
+        verify(statement).setString(9, "scope.permissions");
+        verify(statement).setString(10, "ORDER_READ:STRUCTURE");
+        verify(statement).execute();
+        verify(statement).close();
+    }
+
+    @Test
+    void getConnection_clearsScopeForAnonymousUser() throws SQLException {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(UserContext.ANONYMOUS);
+
+            new RowScopeDataSource(target).getConnection();
+        }
+
+        verify(statement).setString(1, "app.user_id");
+        verify(statement).setString(2, "");
+        verify(statement).setString(8, "");
+        verify(statement).setString(10, "");
+        verify(statement).execute();
+    }
+
+    @Test
+    void getConnection_closesConnectionWhenScopeCannotBeSet() throws SQLException {
+        when(statement.execute()).thenThrow(new SQLException("set_config is not supported"));
+
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class)) {
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(UserContext.ANONYMOUS);
+
+            assertThatThrownBy(() -> new RowScopeDataSource(target).getConnection())
+                    .isInstanceOf(SQLException.class);
+        }
+
+        verify(connection).close();
+    }
+
+    @Test
+    void getConnection_leavesOtherDatabasesUnscoped() throws SQLException {
+        when(metaData.getDatabaseProductName()).thenReturn("H2");
+        final RowScopeDataSource dataSource = new RowScopeDataSource(target);
+
+        assertThat(dataSource.getConnection()).isSameAs(connection);
+        assertThat(dataSource.getConnection()).isSameAs(connection);
+
+        verify(connection, never()).prepareStatement(anyString());
+        verify(metaData).getDatabaseProductName();
+    }
+
+}
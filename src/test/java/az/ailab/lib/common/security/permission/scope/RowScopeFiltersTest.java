@@ -0,0 +1,190 @@
+package az.ailab.lib.common.security.permission.scope;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mockStatic;
+
+import az.ailab.lib.common.error.ServiceException;
+import az.ailab.lib.common.security.context.UserContext;
+import az.ailab.lib.common.security.context.UserContextHolder;
+import az.ailab.lib.common.security.model.enums.PermissionEnum;
+import az.ailab.lib.common.security.model.enums.PermissionLevel;
+import az.ailab.lib.common.security.model.vo.PermissionMatrix;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.annotations.Filter;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+/**
+ * Runs the row scope filters against Hibernate and H2.
+ */
+class RowScopeFiltersTest {
+
+    private static final int USERS = 20;
+    private static final String SELECT_IDS = "select r.id from scoped_row r order by r.id";
+
+    private static SessionFactory sessionFactory;
+
+    private final RowScopeFilters rowScopeFilters = new RowScopeFilters();
+
+    @BeforeAll
+    static void setUpDatabase() {
+        sessionFactory = new Configuration()
+                .addPackage(RowScopeFilters.class.getPackageName())
+                .addAnnotatedClass(ScopedRow.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:row-scope-filters;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.SHOW_SQL, "false")
+                .buildSessionFactory();
+
+        sessionFactory.inTransaction(session -> {
+            for (int i = 1; i <= USERS; i++) {
+                session.persist(new ScopedRow((long) i, (long) i, (long) i % 5, i % 3, (i % 3) + "/" + (i % 5)));
+            }
+            session.persist(new ScopedRow(101L, 0L, 0L, 0, "1/20"));
+            session.persist(new ScopedRow(102L, 0L, 0L, 0, "1/2/9"));
+            session.persist(new ScopedRow(103L, 0L, 0L, 0, "11/2"));
+        });
+    }
+
+    @AfterAll
+    static void tearDownDatabase() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void personalLevelSeesOwnRows() {
+        // user 7: directorate 2, institution 1, path "1/2"
+        assertThat(findVisible(PermissionLevel.PERSONAL, 7)).containsExactly(7L);
+    }
+
+    @Test
+    void directorateLevelSeesDirectorateRows() {
+        assertThat(findVisible(PermissionLevel.DIRECTORATE, 7)).containsExactly(2L, 7L, 12L, 17L);
+    }
+
+    @Test
+    void institutionLevelSeesInstitutionRows() {
+        assertThat(findVisible(PermissionLevel.INSTITUTION, 7)).containsExactly(1L, 4L, 7L, 10L, 13L, 16L, 19L);
+    }
+
+    @Test
+    void structureLevelMatchesWholeSegments() {
+        assertThat(findVisible(PermissionLevel.STRUCTURE, 7)).containsExactly(7L, 102L);
+    }
+
+    @Test
+    void systemLevelEnablesNoFilter() {
+        assertThat(findVisible(PermissionLevel.SYSTEM, 7))
+                .containsExactlyElementsOf(LongStream.concat(LongStream.rangeClosed(1, USERS), LongStream.of(101, 102, 103))
+                        .boxed()
+                        .toList());
+    }
+
+    @Test
+    void enableReplacesPreviouslyEnabledFilter() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class);
+                Session session = sessionFactory.openSession()) {
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(PermissionLevel.STRUCTURE, 7));
+            rowScopeFilters.enable(session, PermissionEnum.ORDER_READ);
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(PermissionLevel.PERSONAL, 7));
+            rowScopeFilters.enable(session, PermissionEnum.ORDER_READ);
+
+            assertThat(session.getEnabledFilter(RowScopeFilters.STRUCTURE)).isNull();
+            assertThat(session.createQuery(SELECT_IDS, Long.class).getResultList()).containsExactly(7L);
+
+            rowScopeFilters.disable(session);
+            assertThat(session.createQuery(SELECT_IDS, Long.class).getResultList()).hasSize(USERS + 3);
+        }
+    }
+
+    @Test
+    void enableFailsWithoutPermissionOrScopeValue() {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class);
+                Session session = sessionFactory.openSession()) {
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(PermissionLevel.PERSONAL, 7));
+            assertThatThrownBy(() -> rowScopeFilters.enable(session, PermissionEnum.USER_READ))
+                    .isInstanceOf(ServiceException.class);
+
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(UserContext.builder()
+                    .authenticated(true)
+                    .permissionMatrix(PermissionMatrix.of(Map.of(PermissionEnum.ORDER_READ, PermissionLevel.STRUCTURE)))
+                    .build());
+            assertThatThrownBy(() -> rowScopeFilters.enable(session, PermissionEnum.ORDER_READ))
+                    .isInstanceOf(ServiceException.class);
+            assertThat(session.getEnabledFilter(RowScopeFilters.STRUCTURE)).isNull();
+        }
+    }
+
+    private List<Long> findVisible(final PermissionLevel level, final int user) {
+        try (MockedStatic<UserContextHolder> mockedStatic = mockStatic(UserContextHolder.class);
+                Session session = sessionFactory.openSession()) {
+            mockedStatic.when(UserContextHolder::getContext).thenReturn(userContext(level, user));
+
+            assertThat(rowScopeFilters.enable(session, PermissionEnum.ORDER_READ)).isEqualTo(level);
+            return session.createQuery(SELECT_IDS, Long.class).getResultList();
+        }
+    }
+
+    private static UserContext userContext(final PermissionLevel level, final int user) {
+        return UserContext.builder()
+                .authenticated(true)
+                .permissionMatrix(PermissionMatrix.of(Map.of(PermissionEnum.ORDER_READ, level)))
+                .userId((long) user)
+                .directorateId((long) user % 5)
+                .institutionId(user % 3)
+                .structurePath((user % 3) + "/" + (user % 5))
+                .build();
+    }
+
+    @Entity(name = "scoped_row")
+    @Filter(name = RowScopeFilters.PERSONAL)
+    @Filter(name = RowScopeFilters.DIRECTORATE)
+    @Filter(name = RowScopeFilters.INSTITUTION)
+    @Filter(name = RowScopeFilters.STRUCTURE)
+    static class ScopedRow {
+
+        @Id
+        private Long id;
+
+        @Column(name = "user_id")
+        private Long userId;
+
+        @Column(name = "directorate_id")
+        private Long directorateId;
+
+        @Column(name = "institution_id")
+        private Integer institutionId;
+
+        @Column(name = "structure_path")
+        private String structurePath;
+
+        protected ScopedRow() {
+        }
+
+        ScopedRow(final Long id,
+                  final Long userId,
+                  final Long directorateId,
+                  final Integer institutionId,
+                  final String structurePath) {
+            this.id = id;
+            this.userId = userId;
+            this.directorateId = directorateId;
+            this.institutionId = institutionId;
+            this.structurePath = structurePath;
+        }
+
+    }
+
+}
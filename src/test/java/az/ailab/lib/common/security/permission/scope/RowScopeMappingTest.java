@@ -0,0 +1,121 @@
+package az.ailab.lib.common.security.permission.scope;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import az.ailab.lib.common.security.permission.PathMatchMode;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.junit.jupiter.api.Test;
+
+class RowScopeMappingTest {
+
+    @Test
+    void of_readsClassAndFieldAnnotationsOnce() {
+        RowScopeMapping<ScopedOrder> mapping = RowScopeMapping.of(ScopedOrder.class);
+
+        assertThat(mapping).isSameAs(RowScopeMapping.of(ScopedOrder.class));
+        assertThat(mapping.useOnlyPath()).isTrue();
+        assertThat(mapping.getPathMatchMode()).isEqualTo(PathMatchMode.RANGE);
+    }
+
+    @Test
+    void of_usesDefaultsWithoutRowScope() {
+        RowScopeMapping<OwnedOnly> mapping = RowScopeMapping.of(OwnedOnly.class);
+
+        assertThat(mapping.useOnlyPath()).isFalse();
+        assertThat(mapping.getPathMatchMode()).isEqualTo(PathMatchMode.PREFIX);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void accessor_resolvesMetamodelAttributeOncePerModel() {
+        Root<ScopedOrder> root = mock(Root.class);
+        EntityType<ScopedOrder> model = mock(EntityType.class);
+        SingularAttribute<ScopedOrder, Long> attribute = mock(SingularAttribute.class);
+        Path<Long> path = mock(Path.class);
+        when(root.getModel()).thenReturn(model);
+        doReturn(attribute).when(model).getSingularAttribute("createdBy");
+        when(root.get(attribute)).thenReturn(path);
+
+        RowScopeMapping<ScopedOrder> mapping = RowScopeMapping.of(ScopedOrder.class);
+
+        assertThat(mapping.getUserId().apply(root)).isSameAs(path);
+        assertThat(mapping.getUserId().apply(root)).isSameAs(path);
+        verify(model, times(1)).getSingularAttribute("createdBy");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void accessor_failsForMissingAnnotation() {
+        RowScopeMapping<OwnedOnly> mapping = RowScopeMapping.of(OwnedOnly.class);
+        Root<OwnedOnly> root = mock(Root.class);
+
+        assertThatThrownBy(() -> mapping.getStructurePath().apply(root))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("@ScopeStructurePath");
+    }
+
+    @Test
+    void of_rejectsInvalidMappings() {
+        assertThatThrownBy(() -> RowScopeMapping.of(DuplicateOwner.class))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Duplicate @ScopeOwner");
+        assertThatThrownBy(() -> RowScopeMapping.of(WrongType.class))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("must be of type Integer");
+    }
+
+    @RowScope(useOnlyPath = true, pathMatchMode = PathMatchMode.RANGE)
+    private static class ScopedOrder extends Auditable {
+
+        @ScopeDirectorate
+        private Long directorateId;
+
+        @ScopeInstitution
+        private int institutionId;
+
+        @ScopeStructurePath
+        private String structurePath;
+
+    }
+
+    private static class Auditable {
+
+        @ScopeOwner
+        private Long createdBy;
+
+    }
+
+    private static class OwnedOnly {
+
+        @ScopeOwner
+        private long ownerId;
+
+    }
+
+    private static class DuplicateOwner {
+
+        @ScopeOwner
+        private Long createdBy;
+
+        @ScopeOwner
+        private Long updatedBy;
+
+    }
+
+    private static class WrongType {
+
+        @ScopeInstitution
+        private Long institutionId;
+
+    }
+
+}
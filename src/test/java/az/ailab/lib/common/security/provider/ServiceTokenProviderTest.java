@@ -0,0 +1,116 @@
+package az.ailab.lib.common.security.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import az.ailab.lib.common.security.verifier.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ServiceTokenProviderTest {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("service-secret-service-secret-service-secret-0123456789".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void getToken_returnsVerifiableTokenPerWarmedUpClient() {
+        try (ServiceTokenProvider provider = provider(Duration.ofMinutes(5), Duration.ofMinutes(1))) {
+            provider.warmUp(List.of("report-client", "user-client"));
+            String token = provider.getToken("report-client");
+
+            assertThatCode(() -> new JwtVerifier(Map.of("2024-10", SECRET)).verify(token)).doesNotThrowAnyException();
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(Base64.getDecoder().decode(SECRET))
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            assertThat(claims.getSubject()).isEqualTo("order-service");
+            assertThat(claims.getAudience()).isEqualTo("report-client");
+            assertThat(claims.getExpiration()).isAfter(claims.getIssuedAt());
+
+            assertThat(provider.getToken("report-client")).isSameAs(token);
+            assertThat(provider.getToken("user-client")).isNotEqualTo(token);
+        }
+    }
+
+    @Test
+    void getToken_rejectsClientsNotWarmedUp() {
+        try (ServiceTokenProvider provider = provider(Duration.ofMinutes(5), Duration.ofMinutes(1))) {
+            provider.warmUp(List.of("report-client"));
+
+            assertThatThrownBy(() -> provider.getToken("user-client")).isInstanceOf(IllegalArgumentException.class);
+
+            provider.warmUp(List.of("report-client", "user-client"));
+            assertThat(provider.getToken("user-client")).isNotEqualTo(provider.getToken("report-client"));
+        }
+    }
+
+    @Test
+    void refreshesTokenBeforeExpiryInTheBackground() throws InterruptedException {
+        try (ServiceTokenProvider provider = provider(Duration.ofSeconds(3), Duration.ofMillis(2_700))) {
+            provider.warmUp(List.of("report-client"));
+            String first = provider.getToken("report-client");
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+            String current = first;
+            while (current.equals(first) && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+                current = provider.getToken("report-client");
+            }
+
+            assertThat(current).isNotEqualTo(first);
+        }
+    }
+
+    @Test
+    void retainOnly_retiresRemovedClientsAndTheirRefresh() throws InterruptedException {
+        try (ServiceTokenProvider provider = provider(Duration.ofSeconds(3), Duration.ofMillis(2_900))) {
+            provider.warmUp(List.of("report-client", "user-client"));
+
+            provider.retainOnly(List.of("report-client"));
+            Thread.sleep(300);
+
+            assertThatThrownBy(() -> provider.getToken("user-client")).isInstanceOf(IllegalArgumentException.class);
+            assertThat(provider.getToken("report-client")).isNotNull();
+
+            provider.warmUp(List.of("report-client", "user-client"));
+            assertThat(provider.getToken("user-client")).isNotNull();
+        }
+    }
+
+    @Test
+    void updateSigningKey_remintsCurrentTokens() {
+        String rotated = Base64.getEncoder()
+                .encodeToString("rotated-secret-rotated-secret-rotated-secret-0123456789".getBytes(StandardCharsets.UTF_8));
+        try (ServiceTokenProvider provider = provider(Duration.ofMinutes(5), Duration.ofMinutes(1))) {
+            provider.warmUp(List.of("report-client"));
+            String token = provider.getToken("report-client");
+
+            assertThat(provider.updateSigningKey("2025-04", SECRET)).isTrue();
+            assertThat(provider.updateSigningKey("2025-04", rotated)).isTrue();
+            assertThat(provider.updateSigningKey("2025-04", rotated)).isFalse();
+
+            String rotatedToken = provider.getToken("report-client");
+            assertThat(rotatedToken).isNotEqualTo(token);
+            assertThatCode(() -> new JwtVerifier(Map.of("2025-04", rotated)).verify(rotatedToken)).doesNotThrowAnyException();
+        }
+    }
+
+    @Test
+    void rejectsRefreshAheadNotShorterThanTtl() {
+        assertThatThrownBy(() -> provider(Duration.ofMinutes(1), Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ServiceTokenProvider provider(final Duration ttl, final Duration refreshAhead) {
+        return new ServiceTokenProvider("order-service", "2024-10", SECRET, ttl, refreshAhead);
+    }
+
+}
@@ -8,6 +8,8 @@ import static org.mockito.Mockito.when;
 
 import az.ailab.lib.common.security.constants.SecurityConstant;
 import az.ailab.lib.common.security.contant.TestConstant;
+import az.ailab.lib.common.security.context.UserAuthenticationToken;
+import az.ailab.lib.common.security.context.UserContext;
 import az.ailab.lib.common.security.model.TokenPayload;
 import az.ailab.lib.common.security.model.UserPrincipal;
 import az.ailab.lib.common.security.model.enums.PermissionEnum;
@@ -67,4 +69,19 @@ public class UserTokenProviderTest {
         verify(tokenPayload, times(2)).getPermissions();
     }
 
+    @Test
+    void buildAuthentication_keepsTokenOnUserContext() {
+        TokenPayload tokenPayload = mock(TokenPayload.class);
+        when(tokenPayload.getRoleName()).thenReturn(TestConstant.ADMIN);
+        when(tokenPayload.getPermissions()).thenReturn(TestConstant.PERMISSIONS);
+        when(tokenPayload.getRoleType()).thenReturn(TestConstant.ROLE_TYPE);
+
+        Authentication authentication = userTokenProvider.buildAuthentication(tokenPayload, "header.payload.signature");
+
+        assertThat(authentication).isInstanceOf(UserAuthenticationToken.class);
+        UserContext userContext = ((UserAuthenticationToken) authentication).getUserContext();
+        assertThat(userContext.getToken()).isEqualTo("header.payload.signature");
+        assertThat(userContext.getAuthorizationHeader()).isEqualTo(SecurityConstant.BEARER + "header.payload.signature");
+    }
+
 }
@@ -0,0 +1,127 @@
+package az.ailab.lib.common.security.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import az.ailab.lib.common.security.contant.TestConstant;
+import az.ailab.lib.common.security.model.TokenPayload;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class JwtUtilTest {
+
+    private static final String HEADER = "{\"alg\":\"HS256\",\"typ\":\"JWT\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void decodePayloadNoVerify_returnsOriginalJson() {
+        String token = token(TestConstant.JSON_PAYLOAD.getBytes(StandardCharsets.UTF_8), false);
+
+        assertThat(JwtUtil.decodePayloadNoVerify(token)).isEqualTo(TestConstant.JSON_PAYLOAD);
+    }
+
+    @Test
+    void decodePayloadNoVerify_acceptsPaddedSegment() {
+        String token = token(TestConstant.JSON_PAYLOAD.getBytes(StandardCharsets.UTF_8), true);
+
+        assertThat(JwtUtil.decodePayloadNoVerify(token)).isEqualTo(TestConstant.JSON_PAYLOAD);
+    }
+
+    @Test
+    void readPayloadNoVerify_parsesFixtureLikeJsonNodePath() throws IOException {
+        String token = token(TestConstant.JSON_PAYLOAD.getBytes(StandardCharsets.UTF_8), false);
+        TokenPayload expected = TokenPayload.fromJsonNode(objectMapper.readTree(TestConstant.JSON_PAYLOAD));
+
+        TokenPayload actual = JwtUtil.readPayloadNoVerify(token, (buffer, offset, length) -> {
+            try (JsonParser parser = objectMapper.getFactory().createParser(buffer, offset, length)) {
+                return TokenPayload.fromJsonParser(parser);
+            }
+        });
+
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .ignoringFields("payloadNode")
+                .isEqualTo(expected);
+    }
+
+    @Test
+    void readPayloadNoVerify_matchesJdkDecoderForAllLengths() throws IOException {
+        Random random = new Random(42);
+        for (int length = 0; length <= 5000; length += length < 64 ? 1 : 97) {
+            byte[] payload = new byte[length];
+            random.nextBytes(payload);
+
+            byte[] decoded = JwtUtil.readPayloadNoVerify(token(payload, false),
+                    (buffer, offset, size) -> Arrays.copyOfRange(buffer, offset, offset + size));
+
+            assertThat(decoded).as("length %d", length).isEqualTo(payload);
+        }
+    }
+
+    @Test
+    void readPayloadNoVerify_handlesPayloadLargerThanPooledBuffer() throws IOException {
+        byte[] payload = "x".repeat(64 * 1024).getBytes(StandardCharsets.UTF_8);
+
+        int decodedLength = JwtUtil.readPayloadNoVerify(token(payload, false), (buffer, offset, length) -> length);
+
+        assertThat(decodedLength).isEqualTo(payload.length);
+    }
+
+    @Test
+    void decodePayloadNoVerify_rejectsWrongSegmentCount() {
+        assertThatThrownBy(() -> JwtUtil.decodePayloadNoVerify("abc.def"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> JwtUtil.decodePayloadNoVerify("abc.def.ghi.jkl"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decodePayloadNoVerify_rejectsInvalidBase64Url() {
+        assertThatThrownBy(() -> JwtUtil.decodePayloadNoVerify("abc.ab+/.sig"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> JwtUtil.decodePayloadNoVerify("abc.abcde.sig"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void parseAndValidate_switchesParserWhenSecretChanges() {
+        String first = secret("first-secret");
+        String second = secret("second-secret");
+        String firstToken = signed("order-service", first);
+        String secondToken = signed("report-service", second);
+
+        assertThat(JwtUtil.getPayload(firstToken, first).getSubject()).isEqualTo("order-service");
+        assertThat(JwtUtil.getPayload(secondToken, second).getSubject()).isEqualTo("report-service");
+        assertThat(JwtUtil.getPayload(firstToken, first).getSubject()).isEqualTo("order-service");
+        assertThatThrownBy(() -> JwtUtil.parseAndValidate(firstToken, second)).isInstanceOf(JwtException.class);
+    }
+
+    private static String secret(final String seed) {
+        return Base64.getEncoder().encodeToString((seed + "-0123456789-0123456789-0123456789").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String signed(final String subject, final String secret) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .signWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret)))
+                .compact();
+    }
+
+    private static String token(final byte[] payload, final boolean padded) {
+        Base64.Encoder encoder = padded ? Base64.getUrlEncoder() : Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(HEADER.getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(payload)
+                + ".signature";
+    }
+
+}
@@ -0,0 +1,64 @@
+package az.ailab.lib.common.security.verifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import az.ailab.lib.common.security.context.ServiceAuthenticationToken;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+class ApiKeyVerifierTest {
+
+    private final ApiKeyVerifier verifier = new ApiKeyVerifier(Map.of(
+            "order-service", List.of("order-key"),
+            "report-service", List.of("report-key-new", "report-key-old")));
+
+    @Test
+    void verify_returnsNewServiceAuthenticationForValidKey() {
+        Authentication authentication = verifier.verify("order-service", "order-key").orElseThrow();
+
+        assertThat(authentication).isInstanceOf(ServiceAuthenticationToken.class);
+        assertThat(authentication.isAuthenticated()).isTrue();
+        assertThat(authentication.getName()).isEqualTo("order-service");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_SERVICE");
+
+        authentication.setAuthenticated(false);
+        Authentication next = verifier.verify("order-service", "order-key").orElseThrow();
+        assertThat(next).isNotSameAs(authentication);
+        assertThat(next.isAuthenticated()).isTrue();
+    }
+
+    @Test
+    void verify_rejectsWrongKeyUnknownServiceAndMissingHeaders() {
+        assertThat(verifier.verify("order-service", "report-key")).isEmpty();
+        assertThat(verifier.verify("order-service", "order-key ")).isEmpty();
+        assertThat(verifier.verify("billing-service", "order-key")).isEmpty();
+        assertThat(verifier.verify(null, "order-key")).isEmpty();
+        assertThat(verifier.verify("order-service", null)).isEmpty();
+    }
+
+    @Test
+    void verify_acceptsEveryKeyOfRotatingService() {
+        assertThat(verifier.verify("report-service", "report-key-new")).isPresent();
+        assertThat(verifier.verify("report-service", "report-key-old")).isPresent();
+    }
+
+    @Test
+    void update_replacesAcceptedKeys() {
+        verifier.update(Map.of("order-service", List.of("rotated-key")));
+
+        assertThat(verifier.verify("order-service", "rotated-key")).isPresent();
+        assertThat(verifier.verify("order-service", "order-key")).isEmpty();
+        assertThat(verifier.verify("report-service", "report-key-new")).isEmpty();
+    }
+
+    @Test
+    void constructor_rejectsBlankKey() {
+        assertThatThrownBy(() -> new ApiKeyVerifier(Map.of("order-service", List.of(" "))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
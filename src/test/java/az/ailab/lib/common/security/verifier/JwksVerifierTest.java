@@ -0,0 +1,183 @@
+package az.ailab.lib.common.security.verifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+class JwksVerifierTest {
+
+    private static KeyPair rsaKeyPair;
+    private static KeyPair ecKeyPair;
+    private static KeyPair rotatedKeyPair;
+
+    @TempDir
+    Path tempDir;
+
+    private Path jwksFile;
+    private JwksKeySetLoader loader;
+    private JwksVerifier verifier;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        KeyPairGenerator rsa = KeyPairGenerator.getInstance("RSA");
+        rsa.initialize(2048);
+        rsaKeyPair = rsa.generateKeyPair();
+        rotatedKeyPair = rsa.generateKeyPair();
+
+        KeyPairGenerator ec = KeyPairGenerator.getInstance("EC");
+        ec.initialize(new ECGenParameterSpec("secp256r1"));
+        ecKeyPair = ec.generateKeyPair();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jwksFile = tempDir.resolve("jwks.json");
+        Files.writeString(jwksFile, jwks(rsaJwk("rsa-1", rsaKeyPair), ecJwk("ec-1", ecKeyPair)));
+        loader = new JwksKeySetLoader(new FileSystemResource(jwksFile), new ObjectMapper(), Duration.ZERO);
+        verifier = new JwksVerifier(loader);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loader.close();
+    }
+
+    @Test
+    void loader_parsesRsaAndEcKeys() {
+        JwksKeySet keySet = loader.getKeySet();
+
+        assertThat(keySet.size()).isEqualTo(2);
+        assertThat(keySet.keysById()).containsKeys("rsa-1", "ec-1");
+        assertThat(keySet.keysById().get("rsa-1")).isEqualTo(rsaKeyPair.getPublic());
+        assertThat(keySet.keysById().get("ec-1")).isEqualTo(ecKeyPair.getPublic());
+    }
+
+    @Test
+    void verify_acceptsRs256TokenWithKid() {
+        String token = sign(rsaKeyPair, "rsa-1", SignatureAlgorithm.RS256);
+
+        assertThatCode(() -> verifier.verify(token)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void verify_acceptsEs256TokenWithoutKid() {
+        String token = sign(ecKeyPair, null, SignatureAlgorithm.ES256);
+
+        assertThatCode(() -> verifier.verify(token)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void verify_rejectsTokenSignedWithUnknownKey() {
+        assertThatThrownBy(() -> verifier.verify(sign(rotatedKeyPair, null, SignatureAlgorithm.RS256)))
+                .isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> verifier.verify(sign(rsaKeyPair, "ec-1", SignatureAlgorithm.RS256)))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void verify_rejectsTamperedPayload() {
+        String token = sign(ecKeyPair, "ec-1", SignatureAlgorithm.ES256);
+        String[] parts = token.split("\\.");
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"admin\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> verifier.verify(parts[0] + "." + forged + "." + parts[2]))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void verify_rejectsHmacAlgorithm() {
+        String header = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"alg\":\"HS256\",\"kid\":\"rsa-1\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> verifier.verify(header + ".e30.c2ln"))
+                .isInstanceOf(UnsupportedJwtException.class);
+    }
+
+    @Test
+    void reloadIfModified_picksUpRotatedKeys() throws Exception {
+        String token = sign(rotatedKeyPair, "rsa-2", SignatureAlgorithm.RS512);
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(JwtException.class);
+
+        Files.writeString(jwksFile, jwks(rsaJwk("rsa-2", rotatedKeyPair)));
+        Files.setLastModifiedTime(jwksFile, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+
+        assertThat(loader.reloadIfModified()).isTrue();
+        assertThat(loader.reloadIfModified()).isFalse();
+        assertThatCode(() -> verifier.verify(token)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void joseToDer_rejectsWrongSignatureLength() {
+        assertThat(JwksVerifier.joseToDer(new byte[63], 64)).isNull();
+        byte[] raw = new byte[64];
+        Arrays.fill(raw, (byte) 0xFF);
+        assertThat(JwksVerifier.joseToDer(raw, 64)).hasSize(2 + 2 * (2 + 33));
+    }
+
+    private static String sign(final KeyPair keyPair, final String keyId, final SignatureAlgorithm algorithm) {
+        var builder = Jwts.builder()
+                .setSubject("1")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        if (keyId != null) {
+            builder.setHeaderParam("kid", keyId);
+        }
+        return builder.signWith(keyPair.getPrivate(), algorithm).compact();
+    }
+
+    private static String jwks(final String... keys) {
+        return "{\"keys\":[" + String.join(",", keys) + "]}";
+    }
+
+    private static String rsaJwk(final String keyId, final KeyPair keyPair) {
+        RSAPublicKey key = (RSAPublicKey) keyPair.getPublic();
+        return "{\"kty\":\"RSA\",\"use\":\"sig\",\"kid\":\"" + keyId + "\",\"n\":\"" + encode(key.getModulus(), 0)
+                + "\",\"e\":\"" + encode(key.getPublicExponent(), 0) + "\"}";
+    }
+
+    private static String ecJwk(final String keyId, final KeyPair keyPair) {
+        ECPublicKey key = (ECPublicKey) keyPair.getPublic();
+        return "{\"kty\":\"EC\",\"crv\":\"P-256\",\"kid\":\"" + keyId + "\",\"x\":\"" + encode(key.getW().getAffineX(), 32)
+                + "\",\"y\":\"" + encode(key.getW().getAffineY(), 32) + "\"}";
+    }
+
+    private static String encode(final BigInteger value, final int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (length > bytes.length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+}
@@ -0,0 +1,96 @@
+package az.ailab.lib.common.security.verifier;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.crypto.SecretKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JwtVerifierTest {
+
+    private static final String CURRENT_SECRET = Base64.getEncoder()
+            .encodeToString("current-secret-current-secret-current-secret-0123456789".getBytes(StandardCharsets.UTF_8));
+    private static final String PREVIOUS_SECRET = Base64.getEncoder()
+            .encodeToString("previous-secret-previous-secret-previous-secret-987654".getBytes(StandardCharsets.UTF_8));
+
+    private JwtVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, String> secrets = new LinkedHashMap<>();
+        secrets.put("current", CURRENT_SECRET);
+        secrets.put("previous", PREVIOUS_SECRET);
+        verifier = new JwtVerifier(secrets);
+    }
+
+    @Test
+    void verify_acceptsTokenSignedWithKeyFromKidHeader() {
+        String token = sign(PREVIOUS_SECRET, "previous", SignatureAlgorithm.HS256);
+
+        assertThatCode(() -> verifier.verify(token)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void verify_triesAllActiveKeysWhenKidIsMissing() {
+        String current = sign(CURRENT_SECRET, null, SignatureAlgorithm.HS256);
+        String previous = sign(PREVIOUS_SECRET, null, SignatureAlgorithm.HS384);
+
+        assertThatCode(() -> verifier.verify(current)).doesNotThrowAnyException();
+        assertThatCode(() -> verifier.verify(previous)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void verify_rejectsTokenSignedWithUnknownSecret() {
+        String other = Base64.getEncoder()
+                .encodeToString("some-other-secret-some-other-secret-some-other-secret".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> verifier.verify(sign(other, null, SignatureAlgorithm.HS256)))
+                .isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> verifier.verify(sign(CURRENT_SECRET, "previous", SignatureAlgorithm.HS256)))
+                .isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> verifier.verify(sign(CURRENT_SECRET, "unknown", SignatureAlgorithm.HS256)))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void verify_rejectsTamperedPayload() {
+        String token = sign(CURRENT_SECRET, "current", SignatureAlgorithm.HS256);
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"admin\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> verifier.verify(parts[0] + "." + forgedPayload + "." + parts[2]))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void verify_rejectsUnsignedToken() {
+        String header = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"admin\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> verifier.verify(header + "." + payload + "."))
+                .isInstanceOf(UnsupportedJwtException.class);
+    }
+
+    private static String sign(final String secret, final String keyId, final SignatureAlgorithm algorithm) {
+        SecretKey key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret));
+        var builder = Jwts.builder().setSubject("abcd123");
+        if (keyId != null) {
+            builder.setHeaderParam("kid", keyId);
+        }
+        return builder.signWith(key, algorithm).compact();
+    }
+
+}